@@ -0,0 +1,165 @@
+package boardgame.model;
+
+import boardgame.ai.AlphaBetaSearch;
+import boardgame.ai.RandomPlayer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the hot paths of {@link BoardGameModel} and {@link GameEngine}.
+ * Logging is switched off, so the numbers show the cost of the model itself.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Dtinylog.writer.level=off")
+public class BoardGameModelBenchmark {
+
+    private static final int MAX_PLIES = 400;
+
+    private static final Position RED_PIECE = new Position(4, 2);
+
+    private BoardGameModel model;
+
+    private GameEngine engine;
+
+    private RandomPlayer player;
+
+    private final int[] buffer = new int[BitBoard.MAX_MOVES];
+
+    /**
+     * Create the model in the starting layout.
+     */
+    @Setup
+    public void setup() {
+        model = new BoardGameModel();
+        model.createPlayers();
+        engine = new GameEngine();
+        player = new RandomPlayer(42);
+    }
+
+    /**
+     * Valid moves of every piece as sets.
+     *
+     * @param blackhole sink of the results.
+     */
+    @Benchmark
+    public void getValidMoves(Blackhole blackhole) {
+        for (int i = 0; i < model.getNumberOfPieces(); i++) {
+            Set<PieceDirection> moves = model.getValidMoves(i);
+            blackhole.consume(moves);
+        }
+    }
+
+    /**
+     * Valid moves of every piece as direction masks.
+     *
+     * @param blackhole sink of the results.
+     */
+    @Benchmark
+    public void getValidMoveMask(Blackhole blackhole) {
+        for (int i = 0; i < model.getNumberOfPieces(); i++) {
+            blackhole.consume(model.getValidMoveMask(i));
+        }
+    }
+
+    /**
+     * Valid moves of the side to move written into a buffer.
+     *
+     * @return number of moves.
+     */
+    @Benchmark
+    public int generateMoves() {
+        return engine.generateMoves(buffer);
+    }
+
+    /**
+     * Selectable red pieces.
+     *
+     * @return the selectable positions.
+     */
+    @Benchmark
+    public List<Position> getSelectableRed() {
+        return model.getSelectableRed();
+    }
+
+    /**
+     * Selectable blue pieces.
+     *
+     * @return the selectable positions.
+     */
+    @Benchmark
+    public List<Position> getSelectableBlue() {
+        return model.getSelectableBlue();
+    }
+
+    /**
+     * A move and the move taking the piece back.
+     *
+     * @return number of steps of {@code PLAYER1}.
+     */
+    @Benchmark
+    public int move() {
+        model.move(7, PieceDirection.UP_RIGHT);
+        model.move(7, PieceDirection.DOWN_LEFT);
+        return model.getCountStepPlayer1();
+    }
+
+    /**
+     * Win detection of both colors.
+     *
+     * @param blackhole sink of the results.
+     */
+    @Benchmark
+    public void isWins(Blackhole blackhole) {
+        blackhole.consume(model.isRedWins());
+        blackhole.consume(model.isBlueWins());
+    }
+
+    /**
+     * Lookup of a piece by position.
+     *
+     * @return the piece number.
+     */
+    @Benchmark
+    public int getPieceNumber() {
+        return model.getPieceNumber(RED_PIECE);
+    }
+
+    /**
+     * A full game of random moves played on the headless engine.
+     *
+     * @return number of plies of the game.
+     */
+    @Benchmark
+    public int randomPlayout() {
+        GameEngine game = new GameEngine();
+        for (int ply = 0; ply < MAX_PLIES; ply++) {
+            ChessColor side = game.getSideToMove();
+            int move = player.chooseMove(game);
+            if (move == AlphaBetaSearch.NO_MOVE) {
+                return ply;
+            }
+            game.move(BitBoard.movePiece(move), BitBoard.moveDirection(move));
+            if (game.isWinner(side)) {
+                return ply;
+            }
+        }
+        return MAX_PLIES;
+    }
+}
@@ -0,0 +1,105 @@
+package boardgame.model;
+
+import org.jdbi.v3.core.Jdbi;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of recording finished games one transaction per game and with JDBC batches.
+ * Every invocation records {@link #GAMES} games of two new players, the scores are reported in games per second.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Dtinylog.writer.level=off")
+public class PlayerDaoBenchmark {
+
+    private static final int GAMES = 32;
+
+    @Param({"jdbc:h2:mem:benchmark", "jdbc:h2:file:./target/benchmark/playerdb"})
+    private String url;
+
+    private PersistenceService service;
+
+    private PlayerDao dao;
+
+    private Jdbi jdbi;
+
+    private long nextName;
+
+    /**
+     * Open the database.
+     */
+    @Setup
+    public void setup() {
+        service = new PersistenceService(url);
+        dao = service.getPlayerDao();
+        jdbi = service.getJdbi();
+    }
+
+    /**
+     * Empty the tables, so every iteration starts from the same size.
+     */
+    @Setup(Level.Iteration)
+    public void truncate() {
+        jdbi.useHandle(handle -> {
+            handle.execute("DELETE FROM game_results");
+            handle.execute("DELETE FROM games");
+            handle.execute("DELETE FROM players");
+        });
+    }
+
+    /**
+     * Close the database.
+     */
+    @TearDown
+    public void tearDown() {
+        service.close();
+    }
+
+    /**
+     * One transaction and one pooled connection per game, as the Finish button records a game.
+     */
+    @Benchmark
+    @OperationsPerInvocation(GAMES)
+    public void recordGame() {
+        for (List<Player> game : games()) {
+            dao.recordGame(game);
+        }
+    }
+
+    /**
+     * JDBC batches of all games in one transaction, as the score writer records them.
+     */
+    @Benchmark
+    @OperationsPerInvocation(GAMES)
+    public void recordGames() {
+        dao.recordGames(games());
+    }
+
+    private List<List<Player>> games() {
+        List<List<Player>> games = new ArrayList<>(GAMES);
+        for (int i = 0; i < GAMES; i++) {
+            games.add(List.of(new Player("player" + nextName++, i, 100), new Player("player" + nextName++, i, 0)));
+        }
+        return games;
+    }
+}
@@ -1,12 +1,40 @@
 package boardgame;
 
+import boardgame.event.GameEventLog;
+import boardgame.jfr.GameRecording;
+import boardgame.metrics.MetricsRegistry;
+import boardgame.metrics.MetricsReporter;
+import boardgame.model.PersistenceService;
 import javafx.application.Application;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Parent;
 import javafx.scene.Scene;
 import javafx.stage.Stage;
+import jdk.jfr.Recording;
+import org.tinylog.Logger;
+
+import javax.management.JMException;
 
 public class BoardGameApplication extends Application {
+
+    private MetricsReporter metricsReporter;
+
+    private Recording recording;
+
+    @Override
+    public void init() {
+        recording = GameRecording.fromSystemProperties();
+        MetricsRegistry metrics = MetricsRegistry.get();
+        metrics.gauge("events.dropped", GameEventLog.get()::getDropped);
+        try {
+            metrics.registerMBean();
+        } catch (JMException e) {
+            Logger.warn(e, "Cannot register the metrics MBean");
+        }
+        metricsReporter = MetricsReporter.fromSystemProperties(metrics);
+        PersistenceService.start(PersistenceService.DEFAULT_URL);
+    }
+
     @Override
     public void start(Stage stage) throws Exception {
         Parent root = FXMLLoader.load(getClass().getResource("/fxml/nameui.fxml"));
@@ -14,4 +42,16 @@ public class BoardGameApplication extends Application {
         stage.setTitle("Board Game");
         stage.show();
     }
+
+    @Override
+    public void stop() {
+        PersistenceService.shutdown();
+        GameEventLog.get().flush();
+        if (metricsReporter != null) {
+            metricsReporter.close();
+        }
+        if (recording != null) {
+            recording.stop();
+        }
+    }
 }
@@ -5,5 +5,6 @@ import javafx.application.Application;
 public class Main {
     public static void main(String[] args) {
         Application.launch(BoardGameApplication.class, args);
+        System.exit(0);
     }
 }
@@ -0,0 +1,318 @@
+package boardgame.ai;
+
+import boardgame.jfr.SearchIterationEvent;
+import boardgame.metrics.Counter;
+import boardgame.metrics.Histogram;
+import boardgame.metrics.MetricsRegistry;
+import boardgame.model.BitBoard;
+import boardgame.model.ChessColor;
+import boardgame.model.GameEngine;
+import boardgame.model.GameVariant;
+import boardgame.model.PieceDirection;
+import jdk.jfr.EventType;
+
+/**
+ * Alpha-beta search with iterative deepening and a time budget.
+ * The search makes and takes back moves on one copy of the root instead of copying the state per node.
+ * Results are kept in a {@link TranspositionTable}, which may be shared between searches and threads.
+ * An instance keeps reusable buffers, so it must only be used by one thread at a time.
+ */
+public class AlphaBetaSearch {
+
+    private static final Histogram SEARCH_TIME = MetricsRegistry.get().histogram("ai.search");
+
+    private static final Counter SEARCH_NODES = MetricsRegistry.get().counter("ai.nodes");
+
+    private static final EventType SEARCH_ITERATION_EVENT = EventType.getEventType(SearchIterationEvent.class);
+
+    /**
+     * Represents the lack of a move.
+     */
+    public static final int NO_MOVE = -1;
+
+    /**
+     * Represents the score of a won game, reduced by the number of plies needed to win.
+     */
+    public static final int WIN_SCORE = 100_000;
+
+    /**
+     * Represents the maximum depth of the search.
+     */
+    public static final int MAX_DEPTH = 64;
+
+    private static final int INFINITY = 1_000_000;
+
+    private static final int CHECK_INTERVAL = 1023;
+
+    /**
+     * Represents the default number of entries of the transposition table of a search.
+     */
+    public static final int DEFAULT_TABLE_ENTRIES = 1 << 18;
+
+    private final TranspositionTable table;
+
+    private final int[][] moveBuffers = new int[MAX_DEPTH + 1][BitBoard.MAX_MOVES];
+
+    private GoalDistance goalDistance;
+
+    private GameVariant goalDistanceVariant;
+
+    private Tablebase tablebase;
+
+    private long nodes;
+
+    private long deadline;
+
+    private boolean aborted;
+
+    private volatile boolean cancelled;
+
+    /**
+     * Create {@code AlphaBetaSearch} instance with its own transposition table.
+     */
+    public AlphaBetaSearch() {
+        this(new TranspositionTable(DEFAULT_TABLE_ENTRIES, TranspositionTable.ReplacementPolicy.DEPTH_PREFERRED));
+    }
+
+    /**
+     * Create {@code AlphaBetaSearch} instance.
+     *
+     * @param table transposition table of the search.
+     */
+    public AlphaBetaSearch(TranspositionTable table) {
+        this.table = table;
+    }
+
+    /**
+     * Get the transposition table of the search.
+     *
+     * @return the transposition table.
+     */
+    public TranspositionTable getTable() {
+        return table;
+    }
+
+    /**
+     * Set the tablebase probed by the search, solved positions are not searched further.
+     *
+     * @param tablebase the tablebase, {@code null} to search without tablebase.
+     */
+    public void setTablebase(Tablebase tablebase) {
+        this.tablebase = tablebase;
+    }
+
+    /**
+     * Search the best move of the side to move.
+     *
+     * @param root             state of the game, it is not modified.
+     * @param timeBudgetMillis time budget of the search in milliseconds.
+     * @return result of the search.
+     */
+    public SearchResult search(GameEngine root, long timeBudgetMillis) {
+        return search(root, timeBudgetMillis, MAX_DEPTH);
+    }
+
+    /**
+     * Search the best move of the side to move.
+     *
+     * @param root             state of the game, it is not modified.
+     * @param timeBudgetMillis time budget of the search in milliseconds.
+     * @param maxDepth         maximum depth of the search.
+     * @return result of the search.
+     */
+    public SearchResult search(GameEngine root, long timeBudgetMillis, int maxDepth) {
+        long start = System.nanoTime();
+        deadline = start + timeBudgetMillis * 1_000_000L;
+        nodes = 0;
+        aborted = false;
+        cancelled = false;
+        table.newSearch();
+        if (root.getVariant() != goalDistanceVariant) {
+            goalDistanceVariant = root.getVariant();
+            goalDistance = new GoalDistance(root.getBoard());
+        }
+
+        int[] rootMoves = new int[BitBoard.MAX_MOVES];
+        int count = root.generateMoves(rootMoves);
+        if (count == 0) {
+            return new SearchResult(NO_MOVE, goalDistance.evaluate(root), 0, 1, System.nanoTime() - start);
+        }
+        long entry = table.probe(root.getHash());
+        if (entry != 0) {
+            moveToFront(rootMoves, count, TranspositionTable.move(entry));
+        }
+        GameEngine engine = new GameEngine(root);
+        int bestMove = rootMoves[0];
+        int bestScore = 0;
+        int completedDepth = 0;
+        for (int depth = 1; depth <= Math.min(maxDepth, MAX_DEPTH); depth++) {
+            SearchIterationEvent event = SEARCH_ITERATION_EVENT.isEnabled() ? new SearchIterationEvent() : null;
+            if (event != null) {
+                event.begin();
+            }
+            int iterationMove = NO_MOVE;
+            int alpha = -INFINITY;
+            for (int i = 0; i < count && !aborted; i++) {
+                int piece = BitBoard.movePiece(rootMoves[i]);
+                int direction = BitBoard.moveDirection(rootMoves[i]);
+                engine.move(piece, direction);
+                int score = -negamax(engine, depth - 1, -INFINITY, -alpha, 1);
+                engine.unmove(piece, direction);
+                if (!aborted && score > alpha) {
+                    alpha = score;
+                    iterationMove = rootMoves[i];
+                }
+            }
+            if (event != null && event.shouldCommit()) {
+                boolean found = !aborted && iterationMove != NO_MOVE;
+                event.set(depth, alpha, found ? BitBoard.movePiece(iterationMove) : -1,
+                        found ? PieceDirection.values()[BitBoard.moveDirection(iterationMove)].name() : null,
+                        nodes, !aborted);
+                event.commit();
+            }
+            if (aborted) {
+                break;
+            }
+            bestMove = iterationMove;
+            bestScore = alpha;
+            completedDepth = depth;
+            moveToFront(rootMoves, count, bestMove);
+            table.store(root.getHash(), bestMove, bestScore, depth, TranspositionTable.EXACT);
+            if (Math.abs(bestScore) >= WIN_SCORE - MAX_DEPTH) {
+                break;
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+        SEARCH_TIME.record(elapsed);
+        SEARCH_NODES.add(nodes);
+        return new SearchResult(bestMove, bestScore, completedDepth, nodes, elapsed);
+    }
+
+    /**
+     * Stop a running search, it returns the result of the last completed iteration.
+     */
+    public void cancel() {
+        cancelled = true;
+    }
+
+    private int negamax(GameEngine engine, int depth, int alpha, int beta, int ply) {
+        nodes++;
+        if ((nodes & CHECK_INTERVAL) == 0 && (cancelled || System.nanoTime() > deadline)) {
+            aborted = true;
+        }
+        if (aborted) {
+            return 0;
+        }
+        ChessColor side = engine.getSideToMove();
+        if (engine.isWinner(opponent(side))) {
+            return -WIN_SCORE + ply;
+        }
+        if (tablebase != null) {
+            int value = tablebase.probe(engine);
+            if (value != Tablebase.UNKNOWN && ply + Math.abs(value) < MAX_DEPTH) {
+                return value > 0 ? WIN_SCORE - ply - value : -WIN_SCORE + ply - value;
+            }
+        }
+        if (depth == 0 || ply >= MAX_DEPTH) {
+            return goalDistance.evaluate(engine);
+        }
+        long hash = engine.getHash();
+        int originalAlpha = alpha;
+        int tableMove = NO_MOVE;
+        long entry = table.probe(hash);
+        if (entry != 0) {
+            tableMove = TranspositionTable.move(entry);
+            if (TranspositionTable.depth(entry) >= depth) {
+                int score = fromTable(TranspositionTable.score(entry), ply);
+                switch (TranspositionTable.bound(entry)) {
+                    case TranspositionTable.EXACT -> {
+                        return score;
+                    }
+                    case TranspositionTable.LOWER_BOUND -> alpha = Math.max(alpha, score);
+                    case TranspositionTable.UPPER_BOUND -> beta = Math.min(beta, score);
+                    default -> {
+                    }
+                }
+                if (alpha >= beta) {
+                    return score;
+                }
+            }
+        }
+        int[] moves = moveBuffers[ply];
+        int count = engine.generateMoves(moves);
+        if (count == 0) {
+            return goalDistance.evaluate(engine);
+        }
+        if (tableMove != NO_MOVE) {
+            moveToFront(moves, count, tableMove);
+        }
+        int best = -INFINITY;
+        int bestMove = NO_MOVE;
+        for (int i = 0; i < count; i++) {
+            int piece = BitBoard.movePiece(moves[i]);
+            int direction = BitBoard.moveDirection(moves[i]);
+            engine.move(piece, direction);
+            int score = -negamax(engine, depth - 1, -beta, -alpha, ply + 1);
+            engine.unmove(piece, direction);
+            if (aborted) {
+                return 0;
+            }
+            if (score > best) {
+                best = score;
+                bestMove = moves[i];
+            }
+            if (best > alpha) {
+                alpha = best;
+            }
+            if (alpha >= beta) {
+                break;
+            }
+        }
+        int bound = best <= originalAlpha ? TranspositionTable.UPPER_BOUND
+                : best >= beta ? TranspositionTable.LOWER_BOUND
+                : TranspositionTable.EXACT;
+        table.store(hash, bestMove, toTable(best, ply), depth, bound);
+        return best;
+    }
+
+    /**
+     * Convert a win score relative to the root into a score relative to the stored node.
+     *
+     * @param score score relative to the root.
+     * @param ply   distance of the node from the root.
+     * @return score relative to the node.
+     */
+    private static int toTable(int score, int ply) {
+        if (score >= WIN_SCORE - MAX_DEPTH) {
+            return score + ply;
+        }
+        if (score <= -WIN_SCORE + MAX_DEPTH) {
+            return score - ply;
+        }
+        return score;
+    }
+
+    private static int fromTable(int score, int ply) {
+        if (score >= WIN_SCORE - MAX_DEPTH) {
+            return score - ply;
+        }
+        if (score <= -WIN_SCORE + MAX_DEPTH) {
+            return score + ply;
+        }
+        return score;
+    }
+
+    private static void moveToFront(int[] moves, int count, int move) {
+        for (int i = 0; i < count; i++) {
+            if (moves[i] == move) {
+                System.arraycopy(moves, 0, moves, 1, i);
+                moves[0] = move;
+                return;
+            }
+        }
+    }
+
+    private static ChessColor opponent(ChessColor color) {
+        return color == ChessColor.RED ? ChessColor.BLUE : ChessColor.RED;
+    }
+}
@@ -0,0 +1,19 @@
+package boardgame.ai;
+
+import boardgame.model.GameEngine;
+
+/**
+ * A player choosing moves without human interaction.
+ * Implementations may keep state between calls, so an instance must only be used by one thread at a time.
+ */
+public interface ComputerPlayer {
+
+    /**
+     * Choose a move for the side to move.
+     *
+     * @param engine state of the game, it must not be modified.
+     * @return the chosen move packed by {@link boardgame.model.BitBoard#packMove(int, int)},
+     * {@link AlphaBetaSearch#NO_MOVE} if the side to move has no valid move.
+     */
+    int chooseMove(GameEngine engine);
+}
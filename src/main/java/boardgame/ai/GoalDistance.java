@@ -0,0 +1,83 @@
+package boardgame.ai;
+
+import boardgame.model.BitBoard;
+import boardgame.model.BoardGeometry;
+import boardgame.model.ChessColor;
+import boardgame.model.GameEngine;
+
+/**
+ * Number of diagonal steps from every square to the nearest goal square of each color.
+ * A diagonal step keeps the parity of {@code row + col}, so only goal squares of the same parity count.
+ */
+final class GoalDistance {
+
+    private final int[][] distances = new int[ChessColor.values().length][];
+
+    /**
+     * Create {@code GoalDistance} instance.
+     *
+     * @param board the board holding the goal squares.
+     */
+    GoalDistance(BitBoard board) {
+        BoardGeometry geometry = board.getGeometry();
+        int size = geometry.getSize();
+        int squares = geometry.getSquares();
+        for (ChessColor color : ChessColor.values()) {
+            int[] distance = new int[squares];
+            distances[color.ordinal()] = distance;
+            boolean hasGoal = false;
+            for (int goal = 0; goal < squares && !hasGoal; goal++) {
+                hasGoal = board.isGoal(color, goal);
+            }
+            for (int square = 0; square < squares; square++) {
+                distance[square] = hasGoal ? 2 * size : 0;
+                for (int goal = 0; goal < squares; goal++) {
+                    if (!board.isGoal(color, goal)) {
+                        continue;
+                    }
+                    int rowChange = Math.abs(square / size - goal / size);
+                    int colChange = Math.abs(square % size - goal % size);
+                    if ((rowChange + colChange) % 2 == 0) {
+                        distance[square] = Math.min(distance[square], Math.max(rowChange, colChange));
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Get the distance of a square from the nearest goal square of a color.
+     *
+     * @param color  color of the pieces.
+     * @param square index of the square.
+     * @return number of diagonal steps.
+     */
+    int get(ChessColor color, int square) {
+        return distances[color.ordinal()][square];
+    }
+
+    /**
+     * Evaluate a position by the distance of the pieces from their goal squares.
+     *
+     * @param engine state of the game.
+     * @return score from the point of view of the side to move.
+     */
+    int evaluate(GameEngine engine) {
+        BitBoard board = engine.getBoard();
+        int red = 0;
+        int blue = 0;
+        for (int i = 0; i < board.getNumberOfPieces(); i++) {
+            int square = board.getSquare(i);
+            if (square == BitBoard.OFF_BOARD) {
+                continue;
+            }
+            if (board.getColor(i) == ChessColor.RED) {
+                red += distances[ChessColor.RED.ordinal()][square];
+            } else {
+                blue += distances[ChessColor.BLUE.ordinal()][square];
+            }
+        }
+        int score = 10 * (blue - red);
+        return engine.getSideToMove() == ChessColor.RED ? score : -score;
+    }
+}
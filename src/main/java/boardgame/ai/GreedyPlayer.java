@@ -0,0 +1,58 @@
+package boardgame.ai;
+
+import boardgame.model.BitBoard;
+import boardgame.model.GameEngine;
+import boardgame.model.GameVariant;
+
+import java.util.SplittableRandom;
+
+/**
+ * Player choosing the move that brings a piece closest to the goal squares, ties are broken randomly.
+ */
+public class GreedyPlayer implements ComputerPlayer {
+
+    private final int[] moves = new int[BitBoard.MAX_MOVES];
+
+    private final SplittableRandom random;
+
+    private GameVariant distanceVariant;
+
+    private GoalDistance goalDistance;
+
+    /**
+     * Create {@code GreedyPlayer} instance.
+     *
+     * @param seed seed of the random number generator.
+     */
+    public GreedyPlayer(long seed) {
+        this.random = new SplittableRandom(seed);
+    }
+
+    @Override
+    public int chooseMove(GameEngine engine) {
+        BitBoard board = engine.getBoard();
+        if (board.getVariant() != distanceVariant) {
+            distanceVariant = board.getVariant();
+            goalDistance = new GoalDistance(board);
+        }
+        int count = engine.generateMoves(moves);
+        int best = AlphaBetaSearch.NO_MOVE;
+        int bestGain = Integer.MIN_VALUE;
+        int ties = 0;
+        for (int i = 0; i < count; i++) {
+            int pieceNumber = BitBoard.movePiece(moves[i]);
+            int from = board.getSquare(pieceNumber);
+            int to = board.getGeometry().neighbor(from, BitBoard.moveDirection(moves[i]));
+            var color = board.getColor(pieceNumber);
+            int gain = goalDistance.get(color, from) - goalDistance.get(color, to);
+            if (gain > bestGain) {
+                bestGain = gain;
+                best = moves[i];
+                ties = 1;
+            } else if (gain == bestGain && random.nextInt(++ties) == 0) {
+                best = moves[i];
+            }
+        }
+        return best;
+    }
+}
@@ -0,0 +1,63 @@
+package boardgame.ai;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded cache of the best moves of positions, keyed by their Zobrist hash.
+ * When it is full, the least recently used position is evicted.
+ * An instance may be shared between threads.
+ */
+public class HintCache {
+
+    private final Map<Long, Integer> moves;
+
+    /**
+     * Create {@code HintCache} instance.
+     *
+     * @param capacity maximum number of positions.
+     * @throws IllegalArgumentException if the capacity is not positive.
+     */
+    public HintCache(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException();
+        }
+        this.moves = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Integer> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    /**
+     * Get the best move of a position.
+     *
+     * @param hash Zobrist hash of the position.
+     * @return the move packed by {@link boardgame.model.BitBoard#packMove(int, int)},
+     * {@link AlphaBetaSearch#NO_MOVE} if the position is not cached.
+     */
+    public synchronized int get(long hash) {
+        Integer move = moves.get(hash);
+        return move == null ? AlphaBetaSearch.NO_MOVE : move;
+    }
+
+    /**
+     * Store the best move of a position.
+     *
+     * @param hash Zobrist hash of the position.
+     * @param move the move packed by {@link boardgame.model.BitBoard#packMove(int, int)}.
+     */
+    public synchronized void put(long hash, int move) {
+        moves.put(hash, move);
+    }
+
+    /**
+     * Get the number of cached positions.
+     *
+     * @return number of positions.
+     */
+    public synchronized int size() {
+        return moves.size();
+    }
+}
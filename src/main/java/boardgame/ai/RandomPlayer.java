@@ -0,0 +1,31 @@
+package boardgame.ai;
+
+import boardgame.model.BitBoard;
+import boardgame.model.GameEngine;
+
+import java.util.SplittableRandom;
+
+/**
+ * Player choosing a uniformly random valid move.
+ */
+public class RandomPlayer implements ComputerPlayer {
+
+    private final int[] moves = new int[BitBoard.MAX_MOVES];
+
+    private final SplittableRandom random;
+
+    /**
+     * Create {@code RandomPlayer} instance.
+     *
+     * @param seed seed of the random number generator.
+     */
+    public RandomPlayer(long seed) {
+        this.random = new SplittableRandom(seed);
+    }
+
+    @Override
+    public int chooseMove(GameEngine engine) {
+        int count = engine.generateMoves(moves);
+        return count == 0 ? AlphaBetaSearch.NO_MOVE : moves[random.nextInt(count)];
+    }
+}
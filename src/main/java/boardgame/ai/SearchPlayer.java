@@ -0,0 +1,33 @@
+package boardgame.ai;
+
+import boardgame.model.GameEngine;
+
+/**
+ * Player choosing moves by {@link AlphaBetaSearch}.
+ */
+public class SearchPlayer implements ComputerPlayer {
+
+    private final AlphaBetaSearch search;
+
+    private final long timeBudgetMillis;
+
+    private final int maxDepth;
+
+    /**
+     * Create {@code SearchPlayer} instance.
+     *
+     * @param search           the search used to choose moves.
+     * @param timeBudgetMillis time budget of a move in milliseconds.
+     * @param maxDepth         maximum depth of the search.
+     */
+    public SearchPlayer(AlphaBetaSearch search, long timeBudgetMillis, int maxDepth) {
+        this.search = search;
+        this.timeBudgetMillis = timeBudgetMillis;
+        this.maxDepth = maxDepth;
+    }
+
+    @Override
+    public int chooseMove(GameEngine engine) {
+        return search.search(engine, timeBudgetMillis, maxDepth).bestMove();
+    }
+}
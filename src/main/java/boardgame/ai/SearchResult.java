@@ -0,0 +1,23 @@
+package boardgame.ai;
+
+/**
+ * Result of a search.
+ *
+ * @param bestMove     the best move packed by {@link boardgame.model.BitBoard#packMove(int, int)},
+ *                     {@link AlphaBetaSearch#NO_MOVE} if the side to move has no valid move.
+ * @param score        score of the best move from the point of view of the side to move.
+ * @param depth        depth of the last completed iteration.
+ * @param nodes        number of nodes visited.
+ * @param elapsedNanos time spent on the search in nanoseconds.
+ */
+public record SearchResult(int bestMove, int score, int depth, long nodes, long elapsedNanos) {
+
+    /**
+     * Get the search speed.
+     *
+     * @return number of nodes visited per second.
+     */
+    public long nodesPerSecond() {
+        return elapsedNanos == 0 ? 0 : nodes * 1_000_000_000L / elapsedNanos;
+    }
+}
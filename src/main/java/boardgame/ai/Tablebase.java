@@ -0,0 +1,234 @@
+package boardgame.ai;
+
+import boardgame.model.BitBoard;
+import boardgame.model.ChessColor;
+import boardgame.model.GameEngine;
+import boardgame.model.GameVariant;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Read-only endgame tablebase written by {@link TablebaseGenerator}, mapped into memory.
+ * It holds the distance to the end of the game in plies for the positions of the standard variant
+ * where both colors have at most a few pieces outside their goal squares.
+ * A value is positive if the side to move wins, negative if it loses
+ * and {@link #UNKNOWN} if the game can leave the positions of the tablebase.
+ * An instance may be shared between threads.
+ */
+public class Tablebase implements AutoCloseable {
+
+    /**
+     * Represents the path of the tablebase of the application.
+     */
+    public static final Path DEFAULT_PATH = Path.of("src/main/db/tablebase-5.bgtb");
+
+    /**
+     * Represents a position whose value is not known.
+     */
+    public static final int UNKNOWN = 0;
+
+    /**
+     * Represents the first bytes of a tablebase.
+     */
+    static final byte[] MAGIC = {'B', 'G', 'T', 'B'};
+
+    /**
+     * Represents the version of the format.
+     */
+    static final byte VERSION = 1;
+
+    /**
+     * Represents the size of the file header: magic, version, board size, maximum number of pieces
+     * outside the goal squares, completion flag and number of finished passes.
+     */
+    static final int HEADER_BYTES = 16;
+
+    static final int SIZE_OFFSET = 5;
+
+    static final int MAX_OFF_GOAL_OFFSET = 6;
+
+    static final int COMPLETE_OFFSET = 7;
+
+    static final int PASSES_OFFSET = 8;
+
+    private final FileChannel channel;
+
+    private final MappedByteBuffer table;
+
+    private final TablebaseIndex index;
+
+    private final String variantName;
+
+    private Tablebase(FileChannel channel, MappedByteBuffer table, TablebaseIndex index) {
+        this.channel = channel;
+        this.table = table;
+        this.index = index;
+        this.variantName = GameVariant.standard(index.getSize()).getName();
+    }
+
+    /**
+     * Open a complete tablebase.
+     *
+     * @param path path of the tablebase.
+     * @return the tablebase.
+     * @throws IOException if the file cannot be read, it is not a tablebase or its generation is not finished.
+     */
+    public static Tablebase open(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            ByteBuffer header = readHeader(channel, path);
+            if (header.get(COMPLETE_OFFSET) == 0) {
+                throw new IOException("Tablebase generation is not finished: " + path);
+            }
+            TablebaseIndex index = new TablebaseIndex(header.get(SIZE_OFFSET), header.get(MAX_OFF_GOAL_OFFSET));
+            if (channel.size() != HEADER_BYTES + index.positions()) {
+                throw new IOException("Truncated tablebase: " + path);
+            }
+            MappedByteBuffer table = channel.map(FileChannel.MapMode.READ_ONLY, HEADER_BYTES, index.positions());
+            return new Tablebase(channel, table, index);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Read and check the header of a tablebase.
+     *
+     * @param channel the file of the tablebase.
+     * @param path    path of the file.
+     * @return the header.
+     * @throws IOException if the file cannot be read or it is not a tablebase.
+     */
+    static ByteBuffer readHeader(FileChannel channel, Path path) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+        while (header.hasRemaining()) {
+            if (channel.read(header, header.position()) < 0) {
+                break;
+            }
+        }
+        byte[] magic = Arrays.copyOf(header.array(), MAGIC.length);
+        if (header.hasRemaining() || !Arrays.equals(magic, MAGIC) || header.get(MAGIC.length) != VERSION) {
+            throw new IOException("Not a tablebase: " + path);
+        }
+        return header;
+    }
+
+    /**
+     * Get the size of the board of the tablebase.
+     *
+     * @return size of the board.
+     */
+    public int getBoardSize() {
+        return index.getSize();
+    }
+
+    /**
+     * Get the maximum number of pieces of a color outside its goal squares in the positions of the tablebase.
+     *
+     * @return number of pieces.
+     */
+    public int getMaxOffGoal() {
+        return index.getMaxOffGoal();
+    }
+
+    /**
+     * Get the value of a position.
+     *
+     * @param engine state of the game, it is not modified.
+     * @return plies to the end of the game, positive if the side to move wins, negative if it loses,
+     * {@link #UNKNOWN} if the position is not solved.
+     */
+    public int probe(GameEngine engine) {
+        if (!engine.getVariant().getName().equals(variantName)) {
+            return UNKNOWN;
+        }
+        BitBoard board = engine.getBoard();
+        long red = 0;
+        long blue = 0;
+        for (int i = 0; i < board.getNumberOfPieces(); i++) {
+            int square = board.getSquare(i);
+            if (square == BitBoard.OFF_BOARD) {
+                return UNKNOWN;
+            }
+            if (board.getColor(i) == ChessColor.RED) {
+                red |= 1L << square;
+            } else {
+                blue |= 1L << square;
+            }
+        }
+        return probe(red, blue, engine.getSideToMove());
+    }
+
+    /**
+     * Get the best move of a solved position: the fastest win, or the slowest loss.
+     *
+     * @param engine state of the game, it is not modified.
+     * @return the move packed by {@link BitBoard#packMove(int, int)},
+     * {@link AlphaBetaSearch#NO_MOVE} if the position is not solved.
+     */
+    public int bestMove(GameEngine engine) {
+        if (probe(engine) == UNKNOWN) {
+            return AlphaBetaSearch.NO_MOVE;
+        }
+        BitBoard board = engine.getBoard();
+        ChessColor side = engine.getSideToMove();
+        long red = 0;
+        long blue = 0;
+        for (int i = 0; i < board.getNumberOfPieces(); i++) {
+            if (board.getColor(i) == ChessColor.RED) {
+                red |= 1L << board.getSquare(i);
+            } else {
+                blue |= 1L << board.getSquare(i);
+            }
+        }
+        int[] moves = new int[BitBoard.MAX_MOVES];
+        int count = engine.generateMoves(moves);
+        int bestMove = AlphaBetaSearch.NO_MOVE;
+        int bestRank = Integer.MIN_VALUE;
+        for (int i = 0; i < count; i++) {
+            int piece = BitBoard.movePiece(moves[i]);
+            int from = board.getSquare(piece);
+            int to = index.neighbors()[from * BitBoard.DIRECTIONS + BitBoard.moveDirection(moves[i])];
+            long moved = 1L << from | 1L << to;
+            long nextRed = side == ChessColor.RED ? red ^ moved : red;
+            long nextBlue = side == ChessColor.BLUE ? blue ^ moved : blue;
+            int rank;
+            if (index.offGoal(side, side == ChessColor.RED ? nextRed : nextBlue) == 0) {
+                rank = Integer.MAX_VALUE;
+            } else {
+                int value = probe(nextRed, nextBlue, side == ChessColor.RED ? ChessColor.BLUE : ChessColor.RED);
+                rank = value < 0 ? Integer.MAX_VALUE + value : value > 0 ? -Integer.MAX_VALUE + value : 0;
+            }
+            if (rank > bestRank) {
+                bestRank = rank;
+                bestMove = moves[i];
+            }
+        }
+        return bestMove;
+    }
+
+    /**
+     * Close the file of the tablebase.
+     *
+     * @throws IOException if the file cannot be closed.
+     */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private int probe(long red, long blue, ChessColor side) {
+        if ((red & blue) != 0 || index.offGoal(ChessColor.RED, red) > index.getMaxOffGoal()
+                || index.offGoal(ChessColor.BLUE, blue) > index.getMaxOffGoal()) {
+            return UNKNOWN;
+        }
+        return table.get(index.index(red, blue, side));
+    }
+}
@@ -0,0 +1,227 @@
+package boardgame.ai;
+
+import boardgame.model.BitBoard;
+import boardgame.model.ChessColor;
+import org.tinylog.Logger;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Consumer;
+
+/**
+ * Generator of a {@link Tablebase} by retrograde analysis on a fork-join pool.
+ * Pass {@code p} solves the positions which end in {@code p} plies, reading only the values of earlier passes:
+ * the first pass finds the wins in one move, every later pass the positions whose moves lead to positions solved
+ * by the previous pass. A move leaving the positions of the tablebase makes the position unknown, so only the
+ * losses where every move stays in the tablebase are solved. Generation stops at the first pass solving nothing.
+ * The table is written in place in a memory-mapped file and the number of finished passes is saved after
+ * every pass, so an interrupted generation resumes from the last finished pass.
+ */
+public class TablebaseGenerator {
+
+    /**
+     * Represents the progress of the generation after a pass.
+     *
+     * @param pass      number of the finished pass, the plies to the end of the positions it solved.
+     * @param solved    number of positions solved by the pass.
+     * @param positions number of positions of the tablebase.
+     */
+    public record Progress(int pass, long solved, long positions) {
+    }
+
+    private static final int MAX_PASSES = Byte.MAX_VALUE;
+
+    private static final int BATCH_SIZE = 1 << 14;
+
+    private final TablebaseIndex index;
+
+    private final int threads;
+
+    /**
+     * Create {@code TablebaseGenerator} instance.
+     *
+     * @param boardSize  size of the board of the standard variant.
+     * @param maxOffGoal maximum number of pieces of a color outside its goal squares.
+     * @param threads    number of threads solving positions.
+     * @throws IllegalArgumentException if the board or the tablebase is too large.
+     */
+    public TablebaseGenerator(int boardSize, int maxOffGoal, int threads) {
+        if (threads < 1) {
+            throw new IllegalArgumentException();
+        }
+        this.index = new TablebaseIndex(boardSize, maxOffGoal);
+        this.threads = threads;
+    }
+
+    /**
+     * Generate the tablebase into a file, or resume the generation already started in it.
+     *
+     * @param path     path of the tablebase.
+     * @param progress receives the progress after every pass.
+     * @throws IOException if the file cannot be written or it is a different tablebase.
+     */
+    public void generate(Path path, Consumer<Progress> progress) throws IOException {
+        boolean resume = Files.exists(path) && Files.size(path) > 0;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE)) {
+            if (resume) {
+                ByteBuffer header = Tablebase.readHeader(channel, path);
+                if (header.get(Tablebase.SIZE_OFFSET) != index.getSize()
+                        || header.get(Tablebase.MAX_OFF_GOAL_OFFSET) != index.getMaxOffGoal()
+                        || channel.size() != Tablebase.HEADER_BYTES + index.positions()) {
+                    throw new IOException("Different tablebase: " + path);
+                }
+            }
+            MappedByteBuffer file = channel.map(FileChannel.MapMode.READ_WRITE, 0,
+                    Tablebase.HEADER_BYTES + index.positions());
+            if (!resume) {
+                file.put(Tablebase.MAGIC).put(Tablebase.VERSION)
+                        .put((byte) index.getSize()).put((byte) index.getMaxOffGoal());
+                file.force();
+            }
+            if (file.get(Tablebase.COMPLETE_OFFSET) != 0) {
+                return;
+            }
+            ForkJoinPool pool = new ForkJoinPool(threads);
+            try {
+                ByteBuffer table = file.slice(Tablebase.HEADER_BYTES, (int) index.positions());
+                for (int pass = file.getInt(Tablebase.PASSES_OFFSET) + 1; pass <= MAX_PASSES; pass++) {
+                    long solved = pool.invoke(new PassTask(table, pass, 0, (int) index.positions()));
+                    file.putInt(Tablebase.PASSES_OFFSET, pass);
+                    if (solved == 0 || pass == MAX_PASSES) {
+                        file.put(Tablebase.COMPLETE_OFFSET, (byte) 1);
+                    }
+                    file.force();
+                    progress.accept(new Progress(pass, solved, index.positions()));
+                    if (solved == 0) {
+                        break;
+                    }
+                }
+            } finally {
+                pool.shutdown();
+            }
+        }
+    }
+
+    /**
+     * Solve a position from the values of the previous passes.
+     *
+     * @param table values of the positions.
+     * @param i     number of the position.
+     * @param pass  number of the pass, only values of a smaller magnitude are read.
+     * @return the value of the position, {@link Tablebase#UNKNOWN} if it is not solved yet.
+     */
+    private int solve(ByteBuffer table, int i, int pass) {
+        long red = index.red(i);
+        long blue = index.blue(i);
+        ChessColor side = index.side(i);
+        ChessColor other = side == ChessColor.RED ? ChessColor.BLUE : ChessColor.RED;
+        long own = side == ChessColor.RED ? red : blue;
+        if ((red & blue) != 0 || index.offGoal(side, own) == 0 || index.offGoal(other, own ^ red ^ blue) == 0) {
+            return Tablebase.UNKNOWN;
+        }
+        int[] neighbors = index.neighbors();
+        long occupied = red | blue;
+        int fastestWin = Integer.MAX_VALUE;
+        int slowestLoss = 0;
+        boolean unknown = false;
+        for (long pieces = own; pieces != 0; pieces &= pieces - 1) {
+            int from = Long.numberOfTrailingZeros(pieces);
+            for (int d = 0; d < BitBoard.DIRECTIONS; d++) {
+                int to = neighbors[from * BitBoard.DIRECTIONS + d];
+                if (to == BitBoard.OFF_BOARD || (occupied & 1L << to) != 0) {
+                    continue;
+                }
+                long moved = own ^ (1L << from | 1L << to);
+                int offGoal = index.offGoal(side, moved);
+                if (offGoal == 0) {
+                    return 1;
+                }
+                if (offGoal > index.getMaxOffGoal()) {
+                    unknown = true;
+                    continue;
+                }
+                int value = side == ChessColor.RED
+                        ? table.get(index.index(moved, blue, other))
+                        : table.get(index.index(red, moved, other));
+                if (value == Tablebase.UNKNOWN || Math.abs(value) >= pass) {
+                    unknown = true;
+                } else if (value < 0) {
+                    fastestWin = Math.min(fastestWin, 1 - value);
+                } else {
+                    slowestLoss = Math.max(slowestLoss, value + 1);
+                }
+            }
+        }
+        if (fastestWin != Integer.MAX_VALUE) {
+            return fastestWin;
+        }
+        return unknown || slowestLoss == 0 ? Tablebase.UNKNOWN : -slowestLoss;
+    }
+
+    private class PassTask extends RecursiveTask<Long> {
+
+        private final ByteBuffer table;
+
+        private final int pass;
+
+        private final int from;
+
+        private final int to;
+
+        PassTask(ByteBuffer table, int pass, int from, int to) {
+            this.table = table;
+            this.pass = pass;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Long compute() {
+            if (to - from <= BATCH_SIZE) {
+                long solved = 0;
+                for (int i = from; i < to; i++) {
+                    if (table.get(i) != Tablebase.UNKNOWN) {
+                        continue;
+                    }
+                    int value = solve(table, i, pass);
+                    if (value != Tablebase.UNKNOWN) {
+                        table.put(i, (byte) value);
+                        solved++;
+                    }
+                }
+                return solved;
+            }
+            int middle = (from + to) >>> 1;
+            PassTask left = new PassTask(table, pass, from, middle);
+            left.fork();
+            long right = new PassTask(table, pass, middle, to).compute();
+            return right + left.join();
+        }
+    }
+
+    /**
+     * Generate a tablebase from the command line.
+     *
+     * @param args size of the board, maximum number of pieces outside the goal squares, path and number of threads.
+     * @throws IOException if the tablebase cannot be written.
+     */
+    public static void main(String[] args) throws IOException {
+        int size = args.length > 0 ? Integer.parseInt(args[0]) : 5;
+        int maxOffGoal = args.length > 1 ? Integer.parseInt(args[1]) : 2;
+        Path path = args.length > 2 ? Path.of(args[2]) : Tablebase.DEFAULT_PATH;
+        int threads = args.length > 3 ? Integer.parseInt(args[3]) : Runtime.getRuntime().availableProcessors();
+        TablebaseGenerator generator = new TablebaseGenerator(size, maxOffGoal, threads);
+        long start = System.nanoTime();
+        generator.generate(path, progress -> Logger.info("Pass {}: {} of {} positions solved",
+                progress.pass(), progress.solved(), progress.positions()));
+        Logger.info("Tablebase {} written in {} ms", path, (System.nanoTime() - start) / 1_000_000);
+    }
+}
@@ -0,0 +1,174 @@
+package boardgame.ai;
+
+import boardgame.model.BitBoard;
+import boardgame.model.BoardGeometry;
+import boardgame.model.ChessColor;
+import boardgame.model.GameVariant;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Numbering of the positions of a tablebase.
+ * A position is the set of squares of the red pieces, the set of squares of the blue pieces and the side to move,
+ * pieces of a color are interchangeable. Only positions where every color has at most {@code maxOffGoal} pieces
+ * outside its goal squares are numbered. Sets of squares are bitmasks, so the board has at most 64 squares.
+ */
+final class TablebaseIndex {
+
+    private final int size;
+
+    private final int[] neighbors;
+
+    private final long[] goals = new long[ChessColor.values().length];
+
+    private final long[][] configs = new long[ChessColor.values().length][];
+
+    private final int maxOffGoal;
+
+    /**
+     * Create {@code TablebaseIndex} instance.
+     *
+     * @param size       size of the board of the standard variant.
+     * @param maxOffGoal maximum number of pieces of a color outside its goal squares.
+     * @throws IllegalArgumentException if the board has more than 64 squares or the index has too many positions.
+     */
+    TablebaseIndex(int size, int maxOffGoal) {
+        GameVariant variant = GameVariant.standard(size);
+        BoardGeometry geometry = variant.getGeometry();
+        int squares = geometry.getSquares();
+        if (squares > Long.SIZE || maxOffGoal < 0) {
+            throw new IllegalArgumentException();
+        }
+        this.size = size;
+        this.maxOffGoal = maxOffGoal;
+        this.neighbors = new int[squares * BitBoard.DIRECTIONS];
+        for (int square = 0; square < squares; square++) {
+            for (int d = 0; d < BitBoard.DIRECTIONS; d++) {
+                neighbors[square * BitBoard.DIRECTIONS + d] = geometry.neighbor(square, d);
+            }
+        }
+        for (ChessColor color : ChessColor.values()) {
+            int pieces = 0;
+            for (int i = 0; i < variant.getNumberOfPieces(); i++) {
+                if (variant.getColor(i) == color) {
+                    pieces++;
+                }
+            }
+            long goal = 0;
+            for (int square = 0; square < squares; square++) {
+                if (variant.isGoal(color, square)) {
+                    goal |= 1L << square;
+                }
+            }
+            goals[color.ordinal()] = goal;
+            configs[color.ordinal()] = enumerate(squares, goal, pieces, maxOffGoal);
+        }
+        if (positions() > Integer.MAX_VALUE - Tablebase.HEADER_BYTES) {
+            throw new IllegalArgumentException();
+        }
+    }
+
+    int getSize() {
+        return size;
+    }
+
+    int getMaxOffGoal() {
+        return maxOffGoal;
+    }
+
+    /**
+     * Get the neighbor table of the board.
+     *
+     * @return target square of every square and direction, {@link BitBoard#OFF_BOARD} outside the board.
+     */
+    int[] neighbors() {
+        return neighbors;
+    }
+
+    /**
+     * Get the number of positions, including the ones where pieces of both colors share a square.
+     *
+     * @return number of positions.
+     */
+    long positions() {
+        return (long) configs[0].length * configs[1].length * 2;
+    }
+
+    /**
+     * Get the number of pieces of a color outside its goal squares.
+     *
+     * @param color color of the pieces.
+     * @param mask  squares of the pieces.
+     * @return number of pieces.
+     */
+    int offGoal(ChessColor color, long mask) {
+        return Long.bitCount(mask & ~goals[color.ordinal()]);
+    }
+
+    /**
+     * Get the number of a position.
+     *
+     * @param red  squares of the red pieces.
+     * @param blue squares of the blue pieces.
+     * @param side the side to move.
+     * @return number of the position, -1 if it is not numbered.
+     */
+    int index(long red, long blue, ChessColor side) {
+        int redRank = Arrays.binarySearch(configs[ChessColor.RED.ordinal()], red);
+        int blueRank = Arrays.binarySearch(configs[ChessColor.BLUE.ordinal()], blue);
+        if (redRank < 0 || blueRank < 0) {
+            return -1;
+        }
+        return (redRank * configs[ChessColor.BLUE.ordinal()].length + blueRank) * 2 + side.ordinal();
+    }
+
+    long red(int index) {
+        return configs[ChessColor.RED.ordinal()][index / 2 / configs[ChessColor.BLUE.ordinal()].length];
+    }
+
+    long blue(int index) {
+        return configs[ChessColor.BLUE.ordinal()][index / 2 % configs[ChessColor.BLUE.ordinal()].length];
+    }
+
+    ChessColor side(int index) {
+        return ChessColor.values()[index % 2];
+    }
+
+    private static long[] enumerate(int squares, long goal, int pieces, int maxOffGoal) {
+        List<Integer> goalSquares = new ArrayList<>();
+        List<Integer> otherSquares = new ArrayList<>();
+        for (int square = 0; square < squares; square++) {
+            ((goal & 1L << square) != 0 ? goalSquares : otherSquares).add(square);
+        }
+        List<Long> off = new ArrayList<>();
+        List<Long> on = new ArrayList<>();
+        List<Long> result = new ArrayList<>();
+        for (int offGoal = 0; offGoal <= Math.min(maxOffGoal, pieces); offGoal++) {
+            if (pieces - offGoal > goalSquares.size()) {
+                continue;
+            }
+            off.clear();
+            on.clear();
+            subsets(otherSquares, 0, offGoal, 0, off);
+            subsets(goalSquares, 0, pieces - offGoal, 0, on);
+            for (long a : off) {
+                for (long b : on) {
+                    result.add(a | b);
+                }
+            }
+        }
+        return result.stream().mapToLong(Long::longValue).sorted().toArray();
+    }
+
+    private static void subsets(List<Integer> squares, int from, int count, long mask, List<Long> result) {
+        if (count == 0) {
+            result.add(mask);
+            return;
+        }
+        for (int i = from; i <= squares.size() - count; i++) {
+            subsets(squares, i + 1, count - 1, mask | 1L << squares.get(i), result);
+        }
+    }
+}
@@ -0,0 +1,234 @@
+package boardgame.ai;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Fixed-size, lock-free transposition table of search results keyed by Zobrist hash.
+ * Every slot holds two {@code long} words: the entry data and the hash XOR-ed with the data.
+ * A torn write by concurrent searches fails the check on probing and reads as a miss,
+ * so the table can be shared by threads without locking.
+ */
+public class TranspositionTable {
+
+    /**
+     * Represents how a new entry may replace the entry already stored in its slot.
+     */
+    public enum ReplacementPolicy {
+        /**
+         * Always replace the stored entry.
+         */
+        ALWAYS,
+        /**
+         * Keep a deeper entry of the current search generation.
+         */
+        DEPTH_PREFERRED
+    }
+
+    /**
+     * Represents an exact score.
+     */
+    public static final int EXACT = 1;
+
+    /**
+     * Represents a score which is at least the stored one.
+     */
+    public static final int LOWER_BOUND = 2;
+
+    /**
+     * Represents a score which is at most the stored one.
+     */
+    public static final int UPPER_BOUND = 3;
+
+    private static final int GENERATION_MASK = 0x3F;
+
+    private final AtomicLongArray slots;
+
+    private final int indexMask;
+
+    private final ReplacementPolicy policy;
+
+    private final LongAdder hits = new LongAdder();
+
+    private final LongAdder misses = new LongAdder();
+
+    private final LongAdder collisions = new LongAdder();
+
+    private volatile int generation;
+
+    /**
+     * Create {@code TranspositionTable} instance.
+     *
+     * @param entries number of entries, rounded down to a power of two.
+     * @param policy  replacement policy of the table.
+     * @throws IllegalArgumentException if {@code entries} is less than one.
+     */
+    public TranspositionTable(int entries, ReplacementPolicy policy) {
+        if (entries < 1) {
+            throw new IllegalArgumentException();
+        }
+        int size = Integer.highestOneBit(entries);
+        this.slots = new AtomicLongArray(2 * size);
+        this.indexMask = size - 1;
+        this.policy = policy;
+    }
+
+    /**
+     * Start a new search generation, entries of older generations are replaced first.
+     */
+    public void newSearch() {
+        generation = (generation + 1) & GENERATION_MASK;
+    }
+
+    /**
+     * Look up the entry of a position.
+     *
+     * @param hash Zobrist hash of the position.
+     * @return the entry data, {@code 0} if the position is not stored.
+     */
+    public long probe(long hash) {
+        int slot = slot(hash);
+        long data = slots.getOpaque(slot);
+        long check = slots.getOpaque(slot + 1);
+        if (data == 0) {
+            misses.increment();
+            return 0;
+        }
+        if ((check ^ data) != hash) {
+            collisions.increment();
+            return 0;
+        }
+        hits.increment();
+        return data;
+    }
+
+    /**
+     * Store the search result of a position.
+     *
+     * @param hash  Zobrist hash of the position.
+     * @param move  the best move, {@link AlphaBetaSearch#NO_MOVE} if there is none.
+     * @param score score of the position.
+     * @param depth searched depth.
+     * @param bound one of {@link #EXACT}, {@link #LOWER_BOUND} and {@link #UPPER_BOUND}.
+     */
+    public void store(long hash, int move, int score, int depth, int bound) {
+        int slot = slot(hash);
+        int currentGeneration = generation;
+        if (policy == ReplacementPolicy.DEPTH_PREFERRED) {
+            long stored = slots.getOpaque(slot);
+            if (stored != 0
+                    && (slots.getOpaque(slot + 1) ^ stored) != hash
+                    && generation(stored) == currentGeneration
+                    && depth(stored) > depth) {
+                return;
+            }
+        }
+        long data = pack(move, score, depth, bound, currentGeneration);
+        slots.setOpaque(slot, data);
+        slots.setOpaque(slot + 1, hash ^ data);
+    }
+
+    /**
+     * Remove every entry and reset the counters.
+     */
+    public void clear() {
+        for (int i = 0; i < slots.length(); i++) {
+            slots.setOpaque(i, 0);
+        }
+        hits.reset();
+        misses.reset();
+        collisions.reset();
+    }
+
+    /**
+     * Get the number of probes that found the position.
+     *
+     * @return number of hits.
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * Get the number of probes that found an empty slot.
+     *
+     * @return number of misses.
+     */
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * Get the number of probes that found another position in the slot.
+     *
+     * @return number of collisions.
+     */
+    public long getCollisions() {
+        return collisions.sum();
+    }
+
+    /**
+     * Get the number of entries of the table.
+     *
+     * @return capacity of the table.
+     */
+    public int capacity() {
+        return indexMask + 1;
+    }
+
+    /**
+     * Get the best move of an entry.
+     *
+     * @param data the entry data.
+     * @return the best move, {@link AlphaBetaSearch#NO_MOVE} if there is none.
+     */
+    public static int move(long data) {
+        return (int) (data & 0xFFFF) - 1;
+    }
+
+    /**
+     * Get the score of an entry.
+     *
+     * @param data the entry data.
+     * @return the score.
+     */
+    public static int score(long data) {
+        return (int) (data >>> 16);
+    }
+
+    /**
+     * Get the searched depth of an entry.
+     *
+     * @param data the entry data.
+     * @return the depth.
+     */
+    public static int depth(long data) {
+        return (int) (data >>> 48) & 0xFF;
+    }
+
+    /**
+     * Get the bound type of an entry.
+     *
+     * @param data the entry data.
+     * @return one of {@link #EXACT}, {@link #LOWER_BOUND} and {@link #UPPER_BOUND}.
+     */
+    public static int bound(long data) {
+        return (int) (data >>> 56) & 0x3;
+    }
+
+    private static int generation(long data) {
+        return (int) (data >>> 58) & GENERATION_MASK;
+    }
+
+    private static long pack(int move, int score, int depth, int bound, int generation) {
+        return (move + 1L) & 0xFFFF
+                | (score & 0xFFFFFFFFL) << 16
+                | (long) (depth & 0xFF) << 48
+                | (long) bound << 56
+                | (long) generation << 58;
+    }
+
+    private int slot(long hash) {
+        return ((int) (hash ^ hash >>> 32) & indexMask) << 1;
+    }
+}
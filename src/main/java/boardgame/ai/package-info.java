@@ -0,0 +1,4 @@
+/**
+ * Define the computer opponent of the board game
+ */
+package boardgame.ai;
@@ -1,7 +1,17 @@
 package boardgame.controller;
 
+import boardgame.ai.AlphaBetaSearch;
+import boardgame.ai.HintCache;
+import boardgame.ai.SearchResult;
+import boardgame.ai.Tablebase;
+import boardgame.ai.TranspositionTable;
+import boardgame.event.GameEventLog;
+import boardgame.event.GameEventType;
+import boardgame.jfr.SceneSwitchEvent;
+import boardgame.metrics.MetricsRegistry;
 import boardgame.model.*;
 import javafx.beans.value.ObservableValue;
+import javafx.concurrent.Task;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
 import javafx.fxml.FXMLLoader;
@@ -9,6 +19,7 @@ import javafx.scene.Node;
 import javafx.scene.Parent;
 import javafx.scene.Scene;
 import javafx.scene.control.Alert;
+import javafx.scene.control.Button;
 import javafx.scene.control.TextField;
 import javafx.scene.input.MouseEvent;
 import javafx.scene.layout.GridPane;
@@ -17,30 +28,53 @@ import javafx.scene.paint.Color;
 import javafx.scene.shape.Circle;
 import javafx.scene.text.Text;
 import javafx.stage.Stage;
-import org.jdbi.v3.core.Handle;
-import org.jdbi.v3.core.Jdbi;
-import org.jdbi.v3.sqlobject.SqlObjectPlugin;
+import jdk.jfr.EventType;
 import org.tinylog.Logger;
 
 import java.io.IOException;
-import java.util.ArrayList;
+import java.nio.file.Files;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 public class BoardGameController {
+    private static final long COMPUTER_TIME_BUDGET_MILLIS = 1000;
+
+    private static final long HINT_TIME_BUDGET_MILLIS = 500;
+
+    private static final EventType SCENE_SWITCH_EVENT = EventType.getEventType(SceneSwitchEvent.class);
+
+    private static final HintCache HINT_CACHE = new HintCache(4096);
+
+    private static final TranspositionTable TRANSPOSITION_TABLE =
+            new TranspositionTable(1 << 20, TranspositionTable.ReplacementPolicy.DEPTH_PREFERRED);
+
+    private static final ExecutorService SEARCH_EXECUTOR = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "computer-search");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private static final Tablebase TABLEBASE = openTablebase();
+
+
     @FXML
     private GridPane board;
 
     BoardGameModel model = new BoardGameModel();
 
-    private List<Position> selectablePositions = new ArrayList<>();
+    /**
+     * Square of every row and column of the board, built by {@link #createBoard()}.
+     */
+    private StackPane[][] squares;
 
-    private Position selected;
+    private Set<Position> selectablePositions = new HashSet<>();
 
-    private static List<Player> playerList;
+    private Position selected;
 
-    public static List<Player> getPlayerList() {
-        return playerList;
-    }
 
     private enum SelectionPhase {
         SELECT_FROM,
@@ -56,6 +90,24 @@ public class BoardGameController {
 
     private SelectionPhase selectionPhase = SelectionPhase.SELECT_FROM;
 
+    private final long startNanos = System.nanoTime();
+
+    private final AlphaBetaSearch search = new AlphaBetaSearch(TRANSPOSITION_TABLE);
+
+    private final AlphaBetaSearch hintSearch = new AlphaBetaSearch(TRANSPOSITION_TABLE);
+
+    private Position hintFrom;
+
+    private Position hintTo;
+
+    private Task<Integer> hintTask;
+
+    private long hintTaskHash;
+
+    private boolean computerOpponent;
+
+    private boolean computerThinking;
+
     @FXML
     private Text playerOneNameText;
 
@@ -68,24 +120,169 @@ public class BoardGameController {
     @FXML
     private TextField stepsCountPlayer2TextField;
 
+    @FXML
+    private Button undoButton;
+
+    @FXML
+    private Button redoButton;
+
+
+    private static Tablebase openTablebase() {
+        if (!Files.exists(Tablebase.DEFAULT_PATH)) {
+            return null;
+        }
+        try {
+            return Tablebase.open(Tablebase.DEFAULT_PATH);
+        } catch (IOException e) {
+            Logger.warn(e, "Failed to open the tablebase");
+            return null;
+        }
+    }
 
     @FXML
     private void initialize() {
+        search.setTablebase(TABLEBASE);
+        hintSearch.setTablebase(TABLEBASE);
         createBoard();
         createPieces();
         model.createPlayers();
-        setSelectablePositions();
-        showSelectablePositions();
-        alterPlayer();
+        updateSelectablePositions();
         addBindCountStep();
+        undoButton.disableProperty().bind(model.undoableProperty().not());
+        redoButton.disableProperty().bind(model.redoableProperty().not());
+    }
+
+    @FXML
+    private void handleUndoButton() {
+        GameEventLog.get().log(GameEventType.BUTTON, "undo");
+        if (computerThinking) {
+            return;
+        }
+        hideHint();
+        resetSelection();
+        cancelHintSearch();
+        model.undo();
+        if (computerOpponent && model.currentPlayer.get().equals(BoardGameModel.Player.PLAYER2)) {
+            model.undo();
+        }
+        updateSelectablePositions();
+        if (isComputerTurn()) {
+            playComputerMove();
+        }
+    }
+
+    @FXML
+    private void handleRedoButton() {
+        GameEventLog.get().log(GameEventType.BUTTON, "redo");
+        if (computerThinking) {
+            return;
+        }
+        hideHint();
+        resetSelection();
+        cancelHintSearch();
+        model.redo();
+        if (computerOpponent && model.currentPlayer.get().equals(BoardGameModel.Player.PLAYER2)) {
+            model.redo();
+        }
+        updateSelectablePositions();
+        if (isComputerTurn()) {
+            playComputerMove();
+        }
+    }
+
+    @FXML
+    private void handleHintButton() {
+        GameEventLog.get().log(GameEventType.BUTTON, "hint");
+        if (computerThinking || isComputerTurn()) {
+            return;
+        }
+        hideHint();
+        resetSelection();
+        updateSelectablePositions();
+        GameEngine engine = model.getEngine();
+        long hash = engine.getHash();
+        if (hintTask != null && hintTaskHash == hash) {
+            return;
+        }
+        cancelHintSearch();
+        int move = HINT_CACHE.get(hash);
+        if (move != AlphaBetaSearch.NO_MOVE) {
+            showHint(hash, move, true);
+            return;
+        }
+        GameEngine snapshot = new GameEngine(engine);
+        Task<Integer> task = new Task<>() {
+            @Override
+            protected Integer call() {
+                int best = TABLEBASE == null ? AlphaBetaSearch.NO_MOVE : TABLEBASE.bestMove(snapshot);
+                return best != AlphaBetaSearch.NO_MOVE ? best
+                        : hintSearch.search(snapshot, HINT_TIME_BUDGET_MILLIS).bestMove();
+            }
+        };
+        task.setOnSucceeded(event -> {
+            hintTask = null;
+            if (task.getValue() != AlphaBetaSearch.NO_MOVE) {
+                HINT_CACHE.put(hash, task.getValue());
+                showHint(hash, task.getValue(), false);
+            }
+        });
+        task.setOnFailed(event -> {
+            hintTask = null;
+            Logger.error(task.getException(), "Hint search failed");
+        });
+        hintTask = task;
+        hintTaskHash = hash;
+        SEARCH_EXECUTOR.execute(task);
+    }
+
+    private void cancelHintSearch() {
+        if (hintTask == null) {
+            return;
+        }
+        hintTask.cancel();
+        hintSearch.cancel();
+        hintTask = null;
+    }
+
+    private void showHint(long hash, int move, boolean cached) {
+        int pieceNumber = BitBoard.movePiece(move);
+        PieceDirection direction = PieceDirection.values()[BitBoard.moveDirection(move)];
+        if (model.getEngine().getHash() != hash || selectionPhase != SelectionPhase.SELECT_FROM
+                || !model.getEngine().isValidMove(pieceNumber, direction.ordinal())) {
+            return;
+        }
+        hideHint();
+        hintFrom = model.getPiecePosition(pieceNumber);
+        hintTo = hintFrom.moveTo(direction);
+        GameEventLog.get().log(GameEventType.HINT, pieceNumber, direction.ordinal(), cached ? 1 : 0);
+        getSquare(hintFrom).getStyleClass().add("selected");
+        getSquare(hintTo).getStyleClass().add("selectable");
+    }
+
+    private void hideHint() {
+        if (hintFrom == null) {
+            return;
+        }
+        getSquare(hintFrom).getStyleClass().remove("selected");
+        getSquare(hintTo).getStyleClass().remove("selectable");
+        hintFrom = null;
+        hintTo = null;
+    }
+
+    private void resetSelection() {
+        if (selectionPhase == SelectionPhase.SELECT_TO) {
+            deselectSelectedPosition();
+            selectionPhase = SelectionPhase.SELECT_FROM;
+        }
     }
 
     @FXML
     private void handleFinishButton(ActionEvent event) throws IOException {
-        Logger.info("Clicked Finish button");
+        GameEventLog.get().log(GameEventType.BUTTON, "finish");
+        MetricsRegistry.get().histogram("game.duration").recordSince(startNanos);
         setPlayerStepCount();
-        generateScore();
-        switchToScoreWindow(event);
+        archiveMoves();
+        switchToScoreWindow(event, generateScore());
     }
 
     private void setPlayerStepCount() {
@@ -95,9 +292,11 @@ public class BoardGameController {
 
 
     private void createBoard() {
+        squares = new StackPane[board.getRowCount()][board.getColumnCount()];
         for (int i = 0; i < board.getRowCount(); i++) {
             for (int j = 0; j < board.getColumnCount(); j++) {
                 var square = createSquare();
+                squares[i][j] = square;
                 board.add(square, j, i);
             }
         }
@@ -125,13 +324,7 @@ public class BoardGameController {
     }
 
     private StackPane getSquare(Position position) {
-        for (Node child : board.getChildren()) {
-            if (GridPane.getRowIndex(child) == position.row()
-                    && GridPane.getColumnIndex(child) == position.col()) {
-                return (StackPane) child;
-            }
-        }
-        throw new AssertionError();
+        return squares[position.row()][position.col()];
     }
 
     @FXML
@@ -140,7 +333,11 @@ public class BoardGameController {
         var row = GridPane.getRowIndex(square);
         var col = GridPane.getColumnIndex(square);
         var position = new Position(row, col);
-        Logger.info("Clicked on square {}", position);
+        GameEventLog.get().log(GameEventType.CLICK, row, col, 0);
+        if (computerThinking) {
+            return;
+        }
+        hideHint();
         handleClickOnSquare(position);
     }
 
@@ -156,17 +353,17 @@ public class BoardGameController {
                 if (selectablePositions.contains(position)) {
                     var pieceNumber = model.getPieceNumber(selected);
                     var direction = PieceDirection.of(position.row() - selected.row(), position.col() - selected.col());
-                    Logger.debug("Moving piece {} {}", pieceNumber, direction);
+                    cancelHintSearch();
                     model.move(pieceNumber, direction);
                     if (model.isRedWins()) {
-                        Logger.info("RED WINS");
+                        model.recordWin(ChessColor.RED);
                         Alert alert = new Alert(Alert.AlertType.INFORMATION);
                         alert.setTitle("Game Over");
                         alert.setHeaderText("RED WINS");
                         alert.showAndWait();
                     }
                     if (model.isBlueWins()) {
-                        Logger.info("BLUE WINS");
+                        model.recordWin(ChessColor.BLUE);
                         Alert alert = new Alert(Alert.AlertType.INFORMATION);
                         alert.setTitle("Game Over");
                         alert.setHeaderText("BLUE WINS");
@@ -174,21 +371,61 @@ public class BoardGameController {
                     }
                     deselectSelectedPosition();
                     alterSelectionPhase();
+                    if (isComputerTurn()) {
+                        playComputerMove();
+                    }
                 }
             }
         }
 
     }
 
+    private boolean isComputerTurn() {
+        return computerOpponent
+                && model.currentPlayer.get().equals(BoardGameModel.Player.PLAYER2)
+                && !model.getEngine().isWinner(ChessColor.RED)
+                && !model.getEngine().isWinner(ChessColor.BLUE);
+    }
+
+    private void playComputerMove() {
+        computerThinking = true;
+        GameEngine snapshot = new GameEngine(model.getEngine());
+        Task<SearchResult> task = new Task<>() {
+            @Override
+            protected SearchResult call() {
+                return search.search(snapshot, COMPUTER_TIME_BUDGET_MILLIS);
+            }
+        };
+        task.setOnSucceeded(event -> {
+            computerThinking = false;
+            SearchResult result = task.getValue();
+            Logger.info("Computer searched to depth {}: {} nodes, {} nodes/s",
+                    result.depth(), result.nodes(), result.nodesPerSecond());
+            Logger.debug("Transposition table hits: {}, misses: {}, collisions: {}",
+                    TRANSPOSITION_TABLE.getHits(), TRANSPOSITION_TABLE.getMisses(), TRANSPOSITION_TABLE.getCollisions());
+            if (result.bestMove() == AlphaBetaSearch.NO_MOVE) {
+                return;
+            }
+            var from = model.getPiecePosition(BitBoard.movePiece(result.bestMove()));
+            var direction = PieceDirection.values()[BitBoard.moveDirection(result.bestMove())];
+            handleClickOnSquare(from);
+            handleClickOnSquare(from.moveTo(direction));
+        });
+        task.setOnFailed(event -> {
+            computerThinking = false;
+            Logger.error(task.getException(), "Computer search failed");
+        });
+        SEARCH_EXECUTOR.execute(task);
+    }
+
     private void alterSelectionPhase() {
         selectionPhase = selectionPhase.alter();
-        hideSelectablePositions();
-        setSelectablePositions();
-        showSelectablePositions();
+        updateSelectablePositions();
     }
 
     private void selectPosition(Position position) {
         selected = position;
+        GameEventLog.get().log(GameEventType.SELECT, model.getPieceNumber(position), position.row(), position.col());
         showSelectedPosition();
     }
 
@@ -207,42 +444,41 @@ public class BoardGameController {
         square.getStyleClass().remove("selected");
     }
 
-    private void setSelectablePositions() {
-        selectablePositions.clear();
+    /**
+     * Update the selectable positions of the selection phase, only the squares
+     * whose state changes get their style class added or removed.
+     */
+    private void updateSelectablePositions() {
+        Set<Position> positions = new HashSet<>();
         switch (selectionPhase) {
             case SELECT_FROM -> {
                 if (model.currentPlayer.get().equals(BoardGameModel.Player.PLAYER1)) {
-                    selectablePositions.addAll(model.getSelectableRed());
+                    positions.addAll(model.getSelectableRed());
                 } else if (model.currentPlayer.get().equals(BoardGameModel.Player.PLAYER2)) {
-                    selectablePositions.addAll(model.getSelectableBlue());
+                    positions.addAll(model.getSelectableBlue());
                 }
             }
             case SELECT_TO -> {
                 var pieceNumber = model.getPieceNumber(selected);
                 for (var direction : model.getValidMoves(pieceNumber)) {
-                    selectablePositions.add(selected.moveTo(direction));
+                    positions.add(selected.moveTo(direction));
                 }
             }
         }
-    }
-
-    private void showSelectablePositions() {
-        for (var selectablePosition : selectablePositions) {
-            var square = getSquare(selectablePosition);
-            square.getStyleClass().add("selectable");
+        for (var position : selectablePositions) {
+            if (!positions.contains(position)) {
+                getSquare(position).getStyleClass().remove("selectable");
+            }
         }
-    }
-
-    private void hideSelectablePositions() {
-        for (var selectablePosition : selectablePositions) {
-            var square = getSquare(selectablePosition);
-            square.getStyleClass().remove("selectable");
+        for (var position : positions) {
+            if (!selectablePositions.contains(position)) {
+                getSquare(position).getStyleClass().add("selectable");
+            }
         }
+        selectablePositions = positions;
     }
 
-
     private void piecePositionChange(ObservableValue<? extends Position> observable, Position oldPosition, Position newPosition) {
-        Logger.debug("Move: {} -> {}", oldPosition, newPosition);
         StackPane oldSquare = getSquare(oldPosition);
         StackPane newSquare = getSquare(newPosition);
         newSquare.getChildren().addAll(oldSquare.getChildren());
@@ -255,51 +491,59 @@ public class BoardGameController {
         model.getPlayer1().setName(name);
     }
 
+    public void setComputerOpponent(boolean computerOpponent) {
+        Logger.info("Setting computer opponent to {}", computerOpponent);
+        this.computerOpponent = computerOpponent;
+    }
+
     public void setPlayerTwoName(String name) {
         Logger.info("Setting player two's name to {}", name);
         this.playerTwoNameText.setText(name);
         model.getPlayer2().setName(name);
     }
 
-    private void alterPlayer() {
-        model.currentPlayerProperty().addListener(
-                (observableValue, oldValue, newValue) -> {
-                    Logger.info("Switch to {}", newValue);
-                }
-        );
-
-    }
-
     private void addBindCountStep() {
         stepsCountPlayer1TextField.textProperty().bind(model.countStepPlayer1Property().asString());
         stepsCountPlayer2TextField.textProperty().bind(model.countStepPlayer2Property().asString());
     }
 
-    private void switchToScoreWindow(ActionEvent event) throws IOException {
+    private void switchToScoreWindow(ActionEvent event, CompletableFuture<List<Player>> leaderboard)
+            throws IOException {
+        SceneSwitchEvent sceneSwitch = SCENE_SWITCH_EVENT.isEnabled() ? new SceneSwitchEvent() : null;
+        if (sceneSwitch != null) {
+            sceneSwitch.begin();
+        }
+        long start = System.nanoTime();
         FXMLLoader fxmlLoader = new FXMLLoader(getClass().getResource("/fxml/scoreui.fxml"));
         Parent root = fxmlLoader.load();
+        fxmlLoader.<ScoreController>getController().setLeaderboard(leaderboard);
         Stage stage = (Stage) ((Node) event.getSource()).getScene().getWindow();
         stage.setScene(new Scene(root));
         stage.show();
+        MetricsRegistry.get().histogram("scene.score").recordSince(start);
+        if (sceneSwitch != null && sceneSwitch.shouldCommit()) {
+            sceneSwitch.set("ui.fxml", "scoreui.fxml");
+            sceneSwitch.commit();
+        }
     }
 
-    private void generateScore() {
-        Jdbi jdbi = Jdbi.create("jdbc:h2:file:./src/main/db/playerdb");
-        jdbi.installPlugin(new SqlObjectPlugin());
-
-        try (Handle handle = jdbi.open()) {
-            PlayerDao dao = handle.attach(PlayerDao.class);
-
-            dao.createPlayerTable();
-
-            dao.insertPlayer(model.getPlayer1());
-            Logger.info("Added Player 1 into DATABASE");
-            dao.insertPlayer(model.getPlayer2());
-            Logger.info("Added Player 2 into DATABASE");
-
-            playerList = dao.listPlayers();
+    private void archiveMoves() {
+        MoveLog moveLog = model.getMoveLog();
+        int boardSize = model.getBoardSize();
+        PersistenceService.getInstance().getMoveArchive().appendAsync(boardSize, moveLog)
+                .whenComplete((done, error) -> {
+                    if (error != null) {
+                        Logger.error(error, "Failed to archive the moves");
+                    } else {
+                        GameEventLog.get().log(GameEventType.GAME_ARCHIVED, moveLog.size(), 0, 0);
+                    }
+                });
+    }
 
-        }
+    private CompletableFuture<List<Player>> generateScore() {
+        ScoreWriter writer = PersistenceService.getInstance().getScoreWriter();
+        Logger.info("Queued Player 1 and Player 2 for the DATABASE");
+        return writer.submit(List.of(model.getPlayer1(), model.getPlayer2()));
     }
 
 }
@@ -1,5 +1,7 @@
 package boardgame.controller;
 
+import boardgame.jfr.SceneSwitchEvent;
+import boardgame.metrics.MetricsRegistry;
 import boardgame.model.PlayerDao;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
@@ -7,8 +9,10 @@ import javafx.fxml.FXMLLoader;
 import javafx.scene.Node;
 import javafx.scene.Parent;
 import javafx.scene.Scene;
+import javafx.scene.control.CheckBox;
 import javafx.scene.control.TextField;
 import javafx.stage.Stage;
+import jdk.jfr.EventType;
 import org.jdbi.v3.core.Handle;
 import org.jdbi.v3.core.Jdbi;
 import org.jdbi.v3.sqlobject.SqlObjectPlugin;
@@ -18,12 +22,17 @@ import java.io.IOException;
 
 public class NameController {
 
+    private static final EventType SCENE_SWITCH_EVENT = EventType.getEventType(SceneSwitchEvent.class);
+
     @FXML
     private TextField playerOneNameTextField;
 
     @FXML
     private TextField playerTwoNameTextField;
 
+    @FXML
+    private CheckBox computerOpponentCheckBox;
+
     @FXML
     public void handlePlayGameButton(ActionEvent event) throws IOException {
         Logger.info("Clicked on Play Game button");
@@ -31,15 +40,29 @@ public class NameController {
         Logger.info("Player two's name: {}", playerTwoNameTextField.getText());
         String playerOneName = playerOneNameTextField.getText();
         String playerTwoName = playerTwoNameTextField.getText();
+        if (computerOpponentCheckBox.isSelected()) {
+            playerTwoName = "Computer";
+        }
         if (!playerOneName.equals("") && !playerTwoName.equals("")){
+            SceneSwitchEvent sceneSwitch = SCENE_SWITCH_EVENT.isEnabled() ? new SceneSwitchEvent() : null;
+            if (sceneSwitch != null) {
+                sceneSwitch.begin();
+            }
+            long start = System.nanoTime();
             FXMLLoader fxmlLoader = new FXMLLoader(getClass().getResource("/fxml/ui.fxml"));
             Parent root = fxmlLoader.load();
             BoardGameController boardGameController = fxmlLoader.getController();
             boardGameController.setPlayerOneName(playerOneName);
             boardGameController.setPlayerTwoName(playerTwoName);
+            boardGameController.setComputerOpponent(computerOpponentCheckBox.isSelected());
             Stage stage = (Stage) ((Node) event.getSource()).getScene().getWindow();
             stage.setScene(new Scene(root));
             stage.show();
+            MetricsRegistry.get().histogram("scene.board").recordSince(start);
+            if (sceneSwitch != null && sceneSwitch.shouldCommit()) {
+                sceneSwitch.set("nameui.fxml", "ui.fxml");
+                sceneSwitch.commit();
+            }
         }
     }
 
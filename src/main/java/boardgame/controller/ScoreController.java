@@ -1,7 +1,10 @@
 package boardgame.controller;
 
-import boardgame.model.BoardGameModel;
+import boardgame.jfr.SceneSwitchEvent;
+import boardgame.metrics.MetricsRegistry;
+import boardgame.model.PersistenceService;
 import boardgame.model.Player;
+import javafx.application.Platform;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.event.ActionEvent;
@@ -10,19 +13,34 @@ import javafx.fxml.FXMLLoader;
 import javafx.scene.Node;
 import javafx.scene.Parent;
 import javafx.scene.Scene;
+import javafx.scene.control.Button;
+import javafx.scene.control.Label;
 import javafx.scene.control.TableColumn;
 import javafx.scene.control.TableView;
 import javafx.scene.control.cell.PropertyValueFactory;
 import javafx.stage.Stage;
+import jdk.jfr.EventType;
 import org.tinylog.Logger;
 
 import java.io.IOException;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 public class ScoreController {
 
+    private static final EventType SCENE_SWITCH_EVENT = EventType.getEventType(SceneSwitchEvent.class);
+
+    @FXML
+    private TableView<Player> tableView;
+
     @FXML
-    private TableView tableView;
+    private Button moreButton;
+
+    private final ObservableList<Player> players = FXCollections.observableArrayList();
+
+    private boolean lastPageLoaded;
+
+    private boolean loadingPage;
 
     @FXML
     private TableColumn<Player, String> name;
@@ -39,25 +57,77 @@ public class ScoreController {
         name.setCellValueFactory(new PropertyValueFactory<>("name"));
         stepCount.setCellValueFactory(new PropertyValueFactory<>("stepCount"));
         score.setCellValueFactory(new PropertyValueFactory<>("score"));
+        tableView.setPlaceholder(new Label("Saving scores..."));
+        tableView.setItems(players);
+        moreButton.setDisable(true);
+    }
 
-        List<Player> players = BoardGameController.getPlayerList();
-        ObservableList<Player> observableList = FXCollections.observableArrayList();
-        observableList.addAll(players);
-        tableView.setItems(observableList);
+    /**
+     * Show the first page of the leaderboard when it has been loaded. The table is filled on the JavaFX thread,
+     * a failure to save the scores is shown in place of the rows.
+     * Further pages are read from the leaderboard cache with the More button.
+     *
+     * @param leaderboard the first page of the players ordered by their score.
+     */
+    public void setLeaderboard(CompletableFuture<List<Player>> leaderboard) {
+        leaderboard.whenComplete((page, error) -> Platform.runLater(() -> {
+            if (error != null) {
+                Logger.error(error, "Could not save the scores");
+                tableView.setPlaceholder(new Label("Could not save the scores"));
+                return;
+            }
+            players.setAll(page);
+            lastPageLoaded = page.size() < PersistenceService.PAGE_SIZE;
+            moreButton.setDisable(lastPageLoaded);
+        }));
+    }
+
+    @FXML
+    private void handleMoreButton() {
+        if (lastPageLoaded || loadingPage || players.isEmpty()) {
+            return;
+        }
+        loadingPage = true;
+        moreButton.setDisable(true);
+        Player last = players.get(players.size() - 1);
+        CompletableFuture.supplyAsync(() -> PersistenceService.getInstance().getLeaderboardCache()
+                        .getAfter(last, PersistenceService.PAGE_SIZE))
+                .whenComplete((page, error) -> Platform.runLater(() -> {
+                    loadingPage = false;
+                    if (error != null) {
+                        Logger.error(error, "Could not load the leaderboard");
+                        moreButton.setDisable(false);
+                        return;
+                    }
+                    Logger.debug("Loaded {} more players", page.size());
+                    players.addAll(page);
+                    lastPageLoaded = page.size() < PersistenceService.PAGE_SIZE;
+                    moreButton.setDisable(lastPageLoaded);
+                }));
     }
 
     @FXML
     private void handleExitButton(ActionEvent event){
         Logger.info("Clicked on Exit button");
-        System.exit(0);
+        Platform.exit();
     }
 
     @FXML
     private void handleRestartButton(ActionEvent event) throws IOException {
+        SceneSwitchEvent sceneSwitch = SCENE_SWITCH_EVENT.isEnabled() ? new SceneSwitchEvent() : null;
+        if (sceneSwitch != null) {
+            sceneSwitch.begin();
+        }
+        long start = System.nanoTime();
         FXMLLoader fxmlLoader = new FXMLLoader(getClass().getResource("/fxml/nameui.fxml"));
         Parent root = fxmlLoader.load();
         Stage stage = (Stage) ((Node) event.getSource()).getScene().getWindow();
         stage.setScene(new Scene(root));
         stage.show();
+        MetricsRegistry.get().histogram("scene.name").recordSince(start);
+        if (sceneSwitch != null && sceneSwitch.shouldCommit()) {
+            sceneSwitch.set("scoreui.fxml", "nameui.fxml");
+            sceneSwitch.commit();
+        }
     }
 }
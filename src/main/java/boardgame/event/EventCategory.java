@@ -0,0 +1,11 @@
+package boardgame.event;
+
+/**
+ * Enum class represent the categories of game events, every category has its own level.
+ */
+public enum EventCategory {
+    MOVE,
+    SELECTION,
+    WIN,
+    PERSISTENCE,
+}
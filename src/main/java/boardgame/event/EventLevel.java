@@ -0,0 +1,13 @@
+package boardgame.event;
+
+/**
+ * Enum class represent the severity of a game event, a category of events can be gated by it.
+ */
+public enum EventLevel {
+    TRACE,
+    DEBUG,
+    INFO,
+    WARN,
+    ERROR,
+    OFF,
+}
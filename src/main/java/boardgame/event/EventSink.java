@@ -0,0 +1,21 @@
+package boardgame.event;
+
+/**
+ * Destination of the game events drained from a {@link GameEventLog}.
+ * A sink is only called by the writer thread of the log.
+ */
+public interface EventSink {
+
+    /**
+     * Receive an event. The event is reused after the call, so it must not be kept.
+     *
+     * @param event the event.
+     */
+    void accept(GameEvent event);
+
+    /**
+     * Flush the events received so far, called when the ring buffer has been drained.
+     */
+    default void flush() {
+    }
+}
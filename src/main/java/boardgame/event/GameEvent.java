@@ -0,0 +1,84 @@
+package boardgame.event;
+
+/**
+ * Structured game event: a type, the time it was logged, up to {@link #FIELDS} numeric fields and an optional text.
+ * Events are slots of the ring buffer of a {@link GameEventLog}, they are filled in place and reused.
+ */
+public final class GameEvent {
+
+    /**
+     * Represents the maximum number of numeric fields of an event.
+     */
+    public static final int FIELDS = 3;
+
+    private GameEventType type;
+
+    private long timeMillis;
+
+    private final long[] values = new long[FIELDS];
+
+    private String text;
+
+    void set(GameEventType type, long timeMillis, long a, long b, long c, String text) {
+        this.type = type;
+        this.timeMillis = timeMillis;
+        this.values[0] = a;
+        this.values[1] = b;
+        this.values[2] = c;
+        this.text = text;
+    }
+
+    /**
+     * Get the type of the event.
+     *
+     * @return the type.
+     */
+    public GameEventType getType() {
+        return type;
+    }
+
+    /**
+     * Get the time the event was logged.
+     *
+     * @return milliseconds since the epoch.
+     */
+    public long getTimeMillis() {
+        return timeMillis;
+    }
+
+    /**
+     * Get a numeric field of the event.
+     *
+     * @param field index of the field.
+     * @return value of the field.
+     */
+    public long getValue(int field) {
+        return values[field];
+    }
+
+    /**
+     * Get the text of the event.
+     *
+     * @return the text, {@code null} if the event has no text.
+     */
+    public String getText() {
+        return text;
+    }
+
+    /**
+     * Format the event as its type followed by {@code name=value} pairs and the text.
+     *
+     * @return the formatted event.
+     */
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder(type.name().toLowerCase());
+        for (int i = 0; i < type.getFieldCount(); i++) {
+            builder.append(' ').append(type.getFieldName(i)).append('=').append(values[i]);
+        }
+        if (text != null) {
+            builder.append(' ').append(text);
+        }
+        return builder.toString();
+    }
+}
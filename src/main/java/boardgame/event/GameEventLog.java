@@ -0,0 +1,279 @@
+package boardgame.event;
+
+import org.tinylog.Logger;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Asynchronous channel of structured game events.
+ * Threads logging an event claim a slot of a lock-free ring buffer with a compare-and-set and fill it in place,
+ * a single writer thread drains the buffer into the sinks. Logging never blocks: when the buffer is full the
+ * event is dropped and counted. Every category has a level, events below it are rejected before anything is
+ * written, so a disabled event costs one array read.
+ * The level of a category can be set with the system property {@code boardgame.events.<category>},
+ * e.g. {@code -Dboardgame.events.selection=DEBUG}; the case is ignored and an unknown level is replaced by INFO.
+ * An idle writer parks until a thread logging an event wakes it up, so an idle log does not poll.
+ */
+public class GameEventLog implements AutoCloseable {
+
+    /**
+     * Represents the default number of slots of the ring buffer.
+     */
+    public static final int DEFAULT_CAPACITY = 1 << 14;
+
+    private static final class Holder {
+        private static final GameEventLog INSTANCE = new GameEventLog(DEFAULT_CAPACITY, List.of(new TinylogSink()));
+    }
+
+    private final GameEvent[] slots;
+
+    private final int mask;
+
+    /**
+     * Sequence number plus one of the event published in every slot.
+     */
+    private final AtomicLongArray published;
+
+    private final AtomicLong claimed = new AtomicLong();
+
+    private final AtomicLong consumed = new AtomicLong();
+
+    private final LongAdder dropped = new LongAdder();
+
+    private final List<EventSink> sinks;
+
+    private final Thread writer;
+
+    /**
+     * Lowest enabled level of every category by ordinal, replaced as a whole when a level changes.
+     */
+    private volatile int[] thresholds;
+
+    private volatile boolean running = true;
+
+    /**
+     * Tells that the writer found no event and is about to park, the next thread publishing an event unparks it.
+     */
+    private volatile boolean sleeping;
+
+    /**
+     * Monitor of the threads waiting in {@link #flush()}, notified whenever the writer catches up.
+     */
+    private final Object flushLock = new Object();
+
+    /**
+     * Create {@code GameEventLog} instance and start its writer thread.
+     *
+     * @param capacity number of slots of the ring buffer, a power of two.
+     * @param sinks    the sinks receiving the events.
+     * @throws IllegalArgumentException if the capacity is not a power of two.
+     */
+    public GameEventLog(int capacity, List<EventSink> sinks) {
+        if (capacity < 1 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException();
+        }
+        this.slots = new GameEvent[capacity];
+        for (int i = 0; i < capacity; i++) {
+            slots[i] = new GameEvent();
+        }
+        this.mask = capacity - 1;
+        this.published = new AtomicLongArray(capacity);
+        this.sinks = List.copyOf(sinks);
+        int[] levels = new int[EventCategory.values().length];
+        for (EventCategory category : EventCategory.values()) {
+            levels[category.ordinal()] = levelOf(category).ordinal();
+        }
+        this.thresholds = levels;
+        this.writer = new Thread(this::drain, "game-events");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    private static EventLevel levelOf(EventCategory category) {
+        String property = "boardgame.events." + category.name().toLowerCase(Locale.ROOT);
+        String level = System.getProperty(property);
+        if (level == null) {
+            return EventLevel.INFO;
+        }
+        try {
+            return EventLevel.valueOf(level.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            Logger.warn("Unknown level {} of {}, using INFO", level, property);
+            return EventLevel.INFO;
+        }
+    }
+
+    /**
+     * Get the event log of the application, writing to tinylog.
+     *
+     * @return the shared event log.
+     */
+    public static GameEventLog get() {
+        return Holder.INSTANCE;
+    }
+
+    /**
+     * Set the lowest level of the events of a category that are logged.
+     *
+     * @param category the category.
+     * @param level    the level, {@link EventLevel#OFF} disables the category.
+     */
+    public synchronized void setLevel(EventCategory category, EventLevel level) {
+        int[] levels = thresholds.clone();
+        levels[category.ordinal()] = level.ordinal();
+        thresholds = levels;
+    }
+
+    /**
+     * Check if events of a type are logged.
+     *
+     * @param type the type of the events.
+     * @return {@code true} if the level of the type is enabled in its category.
+     */
+    public boolean isEnabled(GameEventType type) {
+        return type.getLevel().ordinal() >= thresholds[type.getCategory().ordinal()];
+    }
+
+    /**
+     * Log an event without text.
+     *
+     * @param type type of the event.
+     * @param a    first numeric field.
+     * @param b    second numeric field.
+     * @param c    third numeric field.
+     * @return {@code true} if the event was queued, {@code false} if it is disabled or the buffer is full.
+     */
+    public boolean log(GameEventType type, long a, long b, long c) {
+        return log(type, a, b, c, null);
+    }
+
+    /**
+     * Log an event with only a text.
+     *
+     * @param type type of the event.
+     * @param text the text, it should be a constant to avoid formatting on the hot path.
+     * @return {@code true} if the event was queued, {@code false} if it is disabled or the buffer is full.
+     */
+    public boolean log(GameEventType type, String text) {
+        return log(type, 0, 0, 0, text);
+    }
+
+    /**
+     * Log an event.
+     *
+     * @param type type of the event.
+     * @param a    first numeric field.
+     * @param b    second numeric field.
+     * @param c    third numeric field.
+     * @param text the text, {@code null} if the event has no text.
+     * @return {@code true} if the event was queued, {@code false} if it is disabled or the buffer is full.
+     */
+    public boolean log(GameEventType type, long a, long b, long c, String text) {
+        if (!isEnabled(type) || !running) {
+            return false;
+        }
+        long sequence;
+        do {
+            sequence = claimed.get();
+            if (sequence - consumed.get() >= slots.length) {
+                dropped.increment();
+                return false;
+            }
+        } while (!claimed.compareAndSet(sequence, sequence + 1));
+        int index = (int) sequence & mask;
+        slots[index].set(type, System.currentTimeMillis(), a, b, c, text);
+        published.set(index, sequence + 1);
+        if (sleeping) {
+            LockSupport.unpark(writer);
+        }
+        return true;
+    }
+
+    /**
+     * Get the number of events dropped because the buffer was full.
+     *
+     * @return number of events.
+     */
+    public long getDropped() {
+        return dropped.sum();
+    }
+
+    /**
+     * Wait until the events logged before the call have been passed to the sinks.
+     * An interrupt stops the wait and is kept in the interrupt status of the thread.
+     */
+    public void flush() {
+        long target = claimed.get();
+        synchronized (flushLock) {
+            while (consumed.get() < target && writer.isAlive()) {
+                try {
+                    flushLock.wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Stop accepting events, drain the buffer and stop the writer thread.
+     *
+     * @throws InterruptedException if the thread is interrupted while waiting for the writer.
+     */
+    @Override
+    public void close() throws InterruptedException {
+        running = false;
+        LockSupport.unpark(writer);
+        writer.join();
+    }
+
+    private void drain() {
+        try {
+            drainEvents();
+        } finally {
+            synchronized (flushLock) {
+                flushLock.notifyAll();
+            }
+        }
+    }
+
+    private void drainEvents() {
+        long next = consumed.get();
+        boolean idle = true;
+        while (running || next < claimed.get()) {
+            int index = (int) next & mask;
+            if (published.get(index) == next + 1) {
+                GameEvent event = slots[index];
+                for (EventSink sink : sinks) {
+                    try {
+                        sink.accept(event);
+                    } catch (RuntimeException e) {
+                        Logger.error(e, "Event sink failed");
+                    }
+                }
+                consumed.lazySet(++next);
+                idle = false;
+            } else {
+                if (!idle) {
+                    sinks.forEach(EventSink::flush);
+                    idle = true;
+                    synchronized (flushLock) {
+                        flushLock.notifyAll();
+                    }
+                }
+                sleeping = true;
+                if (running && published.get(index) != next + 1) {
+                    LockSupport.park(this);
+                }
+                sleeping = false;
+            }
+        }
+        sinks.forEach(EventSink::flush);
+    }
+}
@@ -0,0 +1,67 @@
+package boardgame.event;
+
+/**
+ * Enum class represent the types of game events, with their category, level and the names of their fields.
+ */
+public enum GameEventType {
+    MOVE(EventCategory.MOVE, EventLevel.INFO, "piece", "direction", "steps"),
+    UNDO(EventCategory.MOVE, EventLevel.INFO, "piece", "direction", "steps"),
+    REDO(EventCategory.MOVE, EventLevel.INFO, "piece", "direction", "steps"),
+    CLICK(EventCategory.SELECTION, EventLevel.DEBUG, "row", "col"),
+    SELECT(EventCategory.SELECTION, EventLevel.DEBUG, "piece", "row", "col"),
+    BUTTON(EventCategory.SELECTION, EventLevel.DEBUG),
+    HINT(EventCategory.SELECTION, EventLevel.INFO, "piece", "direction", "cached"),
+    WIN(EventCategory.WIN, EventLevel.INFO, "player", "steps"),
+    SCORES_SAVED(EventCategory.PERSISTENCE, EventLevel.INFO, "games", "players", "attempts"),
+    GAME_ARCHIVED(EventCategory.PERSISTENCE, EventLevel.INFO, "moves"),
+    PERSISTENCE_FAILED(EventCategory.PERSISTENCE, EventLevel.ERROR, "games", "players", "attempts");
+
+    private final EventCategory category;
+
+    private final EventLevel level;
+
+    private final String[] fields;
+
+    GameEventType(EventCategory category, EventLevel level, String... fields) {
+        this.category = category;
+        this.level = level;
+        this.fields = fields;
+    }
+
+    /**
+     * Get the category of the events.
+     *
+     * @return the category.
+     */
+    public EventCategory getCategory() {
+        return category;
+    }
+
+    /**
+     * Get the level of the events.
+     *
+     * @return the level.
+     */
+    public EventLevel getLevel() {
+        return level;
+    }
+
+    /**
+     * Get the number of numeric fields of the events.
+     *
+     * @return number of fields, at most {@link GameEvent#FIELDS}.
+     */
+    public int getFieldCount() {
+        return fields.length;
+    }
+
+    /**
+     * Get the name of a numeric field of the events.
+     *
+     * @param field index of the field.
+     * @return name of the field.
+     */
+    public String getFieldName(int field) {
+        return fields[field];
+    }
+}
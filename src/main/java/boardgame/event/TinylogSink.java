@@ -0,0 +1,26 @@
+package boardgame.event;
+
+import org.tinylog.Logger;
+import org.tinylog.TaggedLogger;
+
+/**
+ * Sink writing the game events to tinylog with the tag {@code events}, at the level of their type.
+ */
+public class TinylogSink implements EventSink {
+
+    private final TaggedLogger logger = Logger.tag("events");
+
+    @Override
+    public void accept(GameEvent event) {
+        String message = event.toString();
+        switch (event.getType().getLevel()) {
+            case TRACE -> logger.trace(message);
+            case DEBUG -> logger.debug(message);
+            case INFO -> logger.info(message);
+            case WARN -> logger.warn(message);
+            case ERROR -> logger.error(message);
+            default -> {
+            }
+        }
+    }
+}
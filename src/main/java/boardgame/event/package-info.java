@@ -0,0 +1,4 @@
+/**
+ * Define the structured game events of the board game and their asynchronous log
+ */
+package boardgame.event;
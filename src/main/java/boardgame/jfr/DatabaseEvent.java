@@ -0,0 +1,44 @@
+package boardgame.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder event of a statement run by a {@code PlayerDao} method.
+ */
+@Name("boardgame.Database")
+@Label("Database Statement")
+@Category({"Board Game", "Database"})
+@Description("A query or update of the player database")
+@Enabled(false)
+@StackTrace(false)
+public class DatabaseEvent extends jdk.jfr.Event {
+
+    @Label("Method")
+    @Description("DAO method that ran the statement")
+    private String method;
+
+    @Label("Rows Affected")
+    @Description("Number of rows changed by an update, -1 for a query")
+    private int rowsAffected;
+
+    @Label("Failed")
+    private boolean failed;
+
+    /**
+     * Set the fields of the event.
+     *
+     * @param method       name of the DAO method that ran the statement.
+     * @param rowsAffected number of rows changed by an update, {@code -1} for a query.
+     * @param failed       {@code true} if the statement failed.
+     */
+    public void set(String method, int rowsAffected, boolean failed) {
+        this.method = method;
+        this.rowsAffected = rowsAffected;
+        this.failed = failed;
+    }
+}
@@ -0,0 +1,83 @@
+package boardgame.jfr;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import org.tinylog.Logger;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Flight recordings with the board game events enabled by the bundled settings profile {@link #PROFILE}.
+ * The recording of the application is started with the system property {@code boardgame.jfr} naming the file
+ * it is written to when the application stops, e.g. {@code -Dboardgame.jfr=game.jfr}.
+ */
+public final class GameRecording {
+
+    /**
+     * Represents the classpath resource of the settings of the board game events.
+     */
+    public static final String PROFILE = "/jfr/boardgame.jfc";
+
+    private GameRecording() {
+    }
+
+    /**
+     * Load the settings of the board game events.
+     *
+     * @return the settings of the bundled profile.
+     * @throws IOException    if the profile cannot be read.
+     * @throws ParseException if the profile is not a valid settings file.
+     */
+    public static Configuration getConfiguration() throws IOException, ParseException {
+        try (Reader reader = new InputStreamReader(GameRecording.class.getResourceAsStream(PROFILE),
+                StandardCharsets.UTF_8)) {
+            return Configuration.create(reader);
+        }
+    }
+
+    /**
+     * Create a recording with the settings of a JDK profile and the board game events.
+     *
+     * @param jdkProfile name of the JDK profile, {@code default} or {@code profile}.
+     * @return the recording, not started.
+     * @throws IOException    if a profile cannot be read.
+     * @throws ParseException if a profile is not a valid settings file.
+     */
+    public static Recording create(String jdkProfile) throws IOException, ParseException {
+        Map<String, String> settings = new HashMap<>(Configuration.getConfiguration(jdkProfile).getSettings());
+        settings.putAll(getConfiguration().getSettings());
+        Recording recording = new Recording(settings);
+        recording.setName("boardgame");
+        return recording;
+    }
+
+    /**
+     * Start the recording configured by the system properties.
+     *
+     * @return the started recording, writing to its destination when it is stopped,
+     * {@code null} if {@code boardgame.jfr} is not set or the recording cannot be started.
+     */
+    public static Recording fromSystemProperties() {
+        String destination = System.getProperty("boardgame.jfr");
+        if (destination == null || destination.isBlank()) {
+            return null;
+        }
+        try {
+            Recording recording = create("default");
+            recording.setDestination(Path.of(destination));
+            recording.start();
+            Logger.info("Recording game events to {}", destination);
+            return recording;
+        } catch (IOException | ParseException | RuntimeException e) {
+            Logger.warn(e, "Cannot start the flight recording");
+            return null;
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package boardgame.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder event of a move made on a {@code BoardGameModel}.
+ */
+@Name("boardgame.Move")
+@Label("Move")
+@Category({"Board Game", "Model"})
+@Description("A piece moved by a player")
+@Enabled(false)
+@StackTrace(false)
+public class MoveEvent extends jdk.jfr.Event {
+
+    @Label("Piece")
+    @Description("Number of the moved piece")
+    private int piece;
+
+    @Label("Direction")
+    private String direction;
+
+    @Label("Player")
+    @Description("Player who made the move")
+    private String player;
+
+    @Label("Legal")
+    @Description("Whether the move was legal, an illegal move places the piece without checking the board")
+    private boolean legal;
+
+    /**
+     * Set the fields of the event.
+     *
+     * @param piece     number of the moved piece.
+     * @param direction direction of the move.
+     * @param player    name of the player who made the move.
+     * @param legal     {@code true} if the move was legal.
+     */
+    public void set(int piece, String direction, String player, boolean legal) {
+        this.piece = piece;
+        this.direction = direction;
+        this.player = player;
+        this.legal = legal;
+    }
+}
@@ -0,0 +1,44 @@
+package boardgame.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder event of the generation of the moves or the selectable pieces of a color.
+ */
+@Name("boardgame.MoveGeneration")
+@Label("Move Generation")
+@Category({"Board Game", "Model"})
+@Description("Moves or selectable pieces generated for a color or a piece")
+@Enabled(false)
+@StackTrace(false)
+public class MoveGenerationEvent extends jdk.jfr.Event {
+
+    @Label("Color")
+    private String color;
+
+    @Label("Piece")
+    @Description("Number of the piece whose moves were generated, -1 for every piece of the color")
+    private int piece;
+
+    @Label("Count")
+    @Description("Number of moves or selectable pieces generated")
+    private int count;
+
+    /**
+     * Set the fields of the event.
+     *
+     * @param color color of the pieces.
+     * @param piece number of the piece, {@code -1} for every piece of the color.
+     * @param count number of moves or selectable pieces generated.
+     */
+    public void set(String color, int piece, int count) {
+        this.color = color;
+        this.piece = piece;
+        this.count = count;
+    }
+}
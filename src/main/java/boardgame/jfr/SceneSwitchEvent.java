@@ -0,0 +1,39 @@
+package boardgame.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder event of a controller loading and showing the scene of another window.
+ */
+@Name("boardgame.SceneSwitch")
+@Label("Scene Switch")
+@Category({"Board Game", "User Interface"})
+@Description("FXML scene loaded and shown on the stage")
+@Enabled(false)
+@StackTrace(false)
+public class SceneSwitchEvent extends jdk.jfr.Event {
+
+    @Label("From")
+    @Description("FXML file of the scene that was shown")
+    private String from;
+
+    @Label("To")
+    @Description("FXML file of the scene that is shown")
+    private String to;
+
+    /**
+     * Set the fields of the event.
+     *
+     * @param from FXML file of the scene that was shown.
+     * @param to   FXML file of the scene that is shown.
+     */
+    public void set(String from, String to) {
+        this.from = from;
+        this.to = to;
+    }
+}
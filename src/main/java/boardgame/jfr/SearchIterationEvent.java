@@ -0,0 +1,61 @@
+package boardgame.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder event of one depth of an iterative deepening search.
+ */
+@Name("boardgame.SearchIteration")
+@Label("Search Iteration")
+@Category({"Board Game", "AI"})
+@Description("One depth of the iterative deepening search of the computer opponent")
+@Enabled(false)
+@StackTrace(false)
+public class SearchIterationEvent extends jdk.jfr.Event {
+
+    @Label("Depth")
+    private int depth;
+
+    @Label("Score")
+    @Description("Score of the best move for the side to move")
+    private int score;
+
+    @Label("Piece")
+    @Description("Number of the piece of the best move, -1 if the iteration did not complete")
+    private int piece;
+
+    @Label("Direction")
+    private String direction;
+
+    @Label("Nodes")
+    @Description("Number of positions searched since the start of the search")
+    private long nodes;
+
+    @Label("Completed")
+    @Description("Whether the iteration completed before the time budget ran out")
+    private boolean completed;
+
+    /**
+     * Set the fields of the event.
+     *
+     * @param depth     depth of the iteration.
+     * @param score     score of the best move.
+     * @param piece     number of the piece of the best move, {@code -1} if there is none.
+     * @param direction direction of the best move, {@code null} if there is none.
+     * @param nodes     number of positions searched since the start of the search.
+     * @param completed {@code true} if the iteration completed.
+     */
+    public void set(int depth, int score, int piece, String direction, long nodes, boolean completed) {
+        this.depth = depth;
+        this.score = score;
+        this.piece = piece;
+        this.direction = direction;
+        this.nodes = nodes;
+        this.completed = completed;
+    }
+}
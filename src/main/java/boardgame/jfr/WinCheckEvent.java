@@ -0,0 +1,35 @@
+package boardgame.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Enabled;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder event of the check whether a color has won.
+ */
+@Name("boardgame.WinCheck")
+@Label("Win Check")
+@Category({"Board Game", "Model"})
+@Enabled(false)
+@StackTrace(false)
+public class WinCheckEvent extends jdk.jfr.Event {
+
+    @Label("Color")
+    private String color;
+
+    @Label("Winner")
+    private boolean winner;
+
+    /**
+     * Set the fields of the event.
+     *
+     * @param color  the checked color.
+     * @param winner {@code true} if every piece of the color is on a goal square.
+     */
+    public void set(String color, boolean winner) {
+        this.color = color;
+        this.winner = winner;
+    }
+}
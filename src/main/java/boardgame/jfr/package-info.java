@@ -0,0 +1,4 @@
+/**
+ * Define the Java Flight Recorder events of the board game.
+ */
+package boardgame.jfr;
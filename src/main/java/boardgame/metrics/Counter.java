@@ -0,0 +1,39 @@
+package boardgame.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Monotonic counter backed by a {@link LongAdder}, so threads incrementing it do not contend on one field.
+ */
+public final class Counter {
+
+    private final LongAdder count = new LongAdder();
+
+    Counter() {
+    }
+
+    /**
+     * Add one to the counter.
+     */
+    public void increment() {
+        count.increment();
+    }
+
+    /**
+     * Add a number to the counter.
+     *
+     * @param n the number, not negative.
+     */
+    public void add(long n) {
+        count.add(n);
+    }
+
+    /**
+     * Get the value of the counter.
+     *
+     * @return the sum of every increment.
+     */
+    public long get() {
+        return count.sum();
+    }
+}
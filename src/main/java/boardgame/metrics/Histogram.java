@@ -0,0 +1,137 @@
+package boardgame.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency histogram with log-linear buckets in the style of HdrHistogram.
+ * Values below {@code 32} have their own bucket, larger values share a bucket with the values
+ * of the same power of two and the same five leading bits, so a percentile is within about 3% of the exact value.
+ * Recording a value is a few atomic increments, without locks or allocation.
+ */
+public final class Histogram {
+
+    private static final int SUB_BITS = 5;
+
+    private static final int SUB_BUCKETS = 1 << SUB_BITS;
+
+    private static final int BUCKETS = (Long.SIZE - SUB_BITS) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+
+    private final LongAdder count = new LongAdder();
+
+    private final LongAdder sum = new LongAdder();
+
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+    Histogram() {
+    }
+
+    /**
+     * Record a value.
+     *
+     * @param value the value, negative values are recorded as {@code 0}.
+     */
+    public void record(long value) {
+        long v = Math.max(0, value);
+        counts.incrementAndGet(bucket(v));
+        count.increment();
+        sum.add(v);
+        max.accumulate(v);
+    }
+
+    /**
+     * Record the nanoseconds elapsed since a start time.
+     *
+     * @param startNanos the start time, as returned by {@link System#nanoTime()}.
+     */
+    public void recordSince(long startNanos) {
+        record(System.nanoTime() - startNanos);
+    }
+
+    /**
+     * Get the number of recorded values.
+     *
+     * @return number of values.
+     */
+    public long getCount() {
+        return count.sum();
+    }
+
+    /**
+     * Get the largest recorded value.
+     *
+     * @return the largest value, {@code 0} if no value was recorded.
+     */
+    public long getMax() {
+        return max.get();
+    }
+
+    /**
+     * Get the mean of the recorded values.
+     *
+     * @return the mean, {@code 0} if no value was recorded.
+     */
+    public double getMean() {
+        long n = count.sum();
+        return n == 0 ? 0 : (double) sum.sum() / n;
+    }
+
+    /**
+     * Get a percentile of the recorded values.
+     *
+     * @param percentile the percentile, between {@code 0} and {@code 100}.
+     * @return the largest value of the bucket holding the percentile, {@code 0} if no value was recorded.
+     */
+    public long getPercentile(double percentile) {
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            total += counts.get(i);
+        }
+        if (total == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100 * total));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts.get(i);
+            if (seen >= rank) {
+                return Math.min(max.get(), lowestValue(i + 1) - 1);
+            }
+        }
+        return max.get();
+    }
+
+    /**
+     * Get the summary of the recorded values.
+     *
+     * @return count, mean, median, 90th and 99th percentiles and maximum.
+     */
+    public HistogramSnapshot snapshot() {
+        return new HistogramSnapshot(getCount(), getMean(), getPercentile(50), getPercentile(90),
+                getPercentile(99), getMax());
+    }
+
+    static int bucket(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int magnitude = Long.SIZE - 1 - Long.numberOfLeadingZeros(value);
+        int sub = (int) (value >>> (magnitude - SUB_BITS));
+        return (magnitude - SUB_BITS + 1) * SUB_BUCKETS + sub - SUB_BUCKETS;
+    }
+
+    static long lowestValue(int bucket) {
+        if (bucket >= BUCKETS) {
+            return Long.MAX_VALUE;
+        }
+        int block = bucket / SUB_BUCKETS;
+        int offset = bucket % SUB_BUCKETS;
+        if (block == 0) {
+            return offset;
+        }
+        return (long) (SUB_BUCKETS + offset) << (block - 1);
+    }
+}
@@ -0,0 +1,14 @@
+package boardgame.metrics;
+
+/**
+ * Summary of the values of a {@link Histogram}.
+ *
+ * @param count number of values.
+ * @param mean  mean of the values.
+ * @param p50   median.
+ * @param p90   90th percentile.
+ * @param p99   99th percentile.
+ * @param max   largest value.
+ */
+public record HistogramSnapshot(long count, double mean, long p50, long p90, long p99, long max) {
+}
@@ -0,0 +1,128 @@
+package boardgame.metrics;
+
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Named counters, gauges and histograms of the application.
+ * Metrics are created on first use and kept for the lifetime of the registry, so callers may look them up
+ * once and keep the reference on the hot path.
+ */
+public class MetricsRegistry {
+
+    /**
+     * Represents the name the registry of the application is registered under in JMX.
+     */
+    public static final String OBJECT_NAME = "boardgame:type=Metrics";
+
+    private static final class Holder {
+        private static final MetricsRegistry INSTANCE = new MetricsRegistry();
+    }
+
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+
+    private final Map<String, LongSupplier> gauges = new ConcurrentHashMap<>();
+
+    private final Map<String, Histogram> histograms = new ConcurrentHashMap<>();
+
+    /**
+     * Get the registry of the application.
+     *
+     * @return the shared registry.
+     */
+    public static MetricsRegistry get() {
+        return Holder.INSTANCE;
+    }
+
+    /**
+     * Get a counter, creating it if it does not exist.
+     *
+     * @param name name of the counter.
+     * @return the counter.
+     */
+    public Counter counter(String name) {
+        return counters.computeIfAbsent(name, n -> new Counter());
+    }
+
+    /**
+     * Get a histogram, creating it if it does not exist.
+     *
+     * @param name name of the histogram.
+     * @return the histogram.
+     */
+    public Histogram histogram(String name) {
+        return histograms.computeIfAbsent(name, n -> new Histogram());
+    }
+
+    /**
+     * Register a gauge, replacing the gauge of the same name.
+     *
+     * @param name  name of the gauge.
+     * @param value supplier of the current value, called from the thread reading the metrics.
+     */
+    public void gauge(String name, LongSupplier value) {
+        gauges.put(name, value);
+    }
+
+    /**
+     * Remove a gauge if it is still the one registered under its name,
+     * so an owner closing late does not remove the gauge of its replacement.
+     *
+     * @param name  name of the gauge.
+     * @param value supplier the gauge was registered with.
+     */
+    public void removeGauge(String name, LongSupplier value) {
+        gauges.remove(name, value);
+    }
+
+    /**
+     * Get the current values of every metric.
+     *
+     * @return the snapshot.
+     */
+    public MetricsSnapshot snapshot() {
+        Map<String, Long> counterValues = new TreeMap<>();
+        counters.forEach((name, counter) -> counterValues.put(name, counter.get()));
+        Map<String, Long> gaugeValues = new TreeMap<>();
+        gauges.forEach((name, gauge) -> gaugeValues.put(name, gauge.getAsLong()));
+        Map<String, HistogramSnapshot> histogramValues = new TreeMap<>();
+        histograms.forEach((name, histogram) -> histogramValues.put(name, histogram.snapshot()));
+        return new MetricsSnapshot(System.currentTimeMillis(), counterValues, gaugeValues, histogramValues);
+    }
+
+    /**
+     * Register the registry in the platform MBean server under {@link #OBJECT_NAME}.
+     * Every counter and gauge is an attribute, every histogram has the attributes
+     * {@code <name>.count}, {@code <name>.mean}, {@code <name>.p50}, {@code <name>.p99} and {@code <name>.max}.
+     * Registering twice has no effect.
+     *
+     * @throws JMException if the registry cannot be registered.
+     */
+    public void registerMBean() throws JMException {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            server.registerMBean(new MetricsMBean(this), new ObjectName(OBJECT_NAME));
+        } catch (InstanceAlreadyExistsException e) {
+            // already registered
+        }
+    }
+
+    Map<String, Counter> getCounters() {
+        return counters;
+    }
+
+    Map<String, LongSupplier> getGauges() {
+        return gauges;
+    }
+
+    Map<String, Histogram> getHistograms() {
+        return histograms;
+    }
+}
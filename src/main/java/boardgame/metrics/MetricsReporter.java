@@ -0,0 +1,97 @@
+package boardgame.metrics;
+
+import org.tinylog.Logger;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Periodic dump of the metrics of a {@link MetricsRegistry} to a file, with the rates of the last period.
+ * The file is written as JSON if its name ends with {@code .json}, as text otherwise, and replaced atomically
+ * so a reader never sees a partial dump.
+ * The reporter of the application is enabled with the system property {@code boardgame.metrics.dump} naming
+ * the file, the period in seconds is set with {@code boardgame.metrics.period}.
+ */
+public class MetricsReporter implements AutoCloseable {
+
+    /**
+     * Represents the default period of the dump in seconds.
+     */
+    public static final long DEFAULT_PERIOD_SECONDS = 60;
+
+    private final MetricsRegistry registry;
+
+    private final Path path;
+
+    private final boolean json;
+
+    private final ScheduledExecutorService executor;
+
+    private MetricsSnapshot previous;
+
+    /**
+     * Create {@code MetricsReporter} instance and schedule the dump.
+     *
+     * @param registry      the registry to dump.
+     * @param path          the file the metrics are written to.
+     * @param periodSeconds the period of the dump in seconds.
+     */
+    public MetricsReporter(MetricsRegistry registry, Path path, long periodSeconds) {
+        this.registry = registry;
+        this.path = path;
+        this.json = path.getFileName().toString().endsWith(".json");
+        this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "metrics-reporter");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleAtFixedRate(this::report, periodSeconds, periodSeconds, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Start the reporter configured by the system properties.
+     *
+     * @param registry the registry to dump.
+     * @return the reporter, {@code null} if {@code boardgame.metrics.dump} is not set.
+     */
+    public static MetricsReporter fromSystemProperties(MetricsRegistry registry) {
+        String dump = System.getProperty("boardgame.metrics.dump");
+        if (dump == null || dump.isBlank()) {
+            return null;
+        }
+        long period = Long.getLong("boardgame.metrics.period", DEFAULT_PERIOD_SECONDS);
+        Logger.info("Dumping metrics to {} every {} s", dump, period);
+        return new MetricsReporter(registry, Path.of(dump), period);
+    }
+
+    /**
+     * Write the current metrics to the file.
+     */
+    public synchronized void report() {
+        MetricsSnapshot snapshot = registry.snapshot();
+        String text = json ? snapshot.toJson(previous) : snapshot.toText(previous);
+        previous = snapshot;
+        try {
+            Path parent = path.toAbsolutePath().getParent();
+            Path temp = Files.createTempFile(parent, path.getFileName().toString(), ".tmp");
+            Files.writeString(temp, text);
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            Logger.warn(e, "Cannot dump metrics to {}", path);
+        }
+    }
+
+    /**
+     * Stop the periodic dump and write the metrics one last time.
+     */
+    @Override
+    public void close() {
+        executor.shutdownNow();
+        report();
+    }
+}
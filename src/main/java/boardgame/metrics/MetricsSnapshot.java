@@ -0,0 +1,87 @@
+package boardgame.metrics;
+
+import java.util.Map;
+import java.util.StringJoiner;
+
+/**
+ * Values of every metric of a {@link MetricsRegistry} at one time, in the order of their names.
+ * Rates are computed against an earlier snapshot, so a periodic dump shows the throughput of its period.
+ *
+ * @param timeMillis time of the snapshot in milliseconds since the epoch.
+ * @param counters   value of every counter.
+ * @param gauges     value of every gauge.
+ * @param histograms summary of every histogram, values in nanoseconds for latencies.
+ */
+public record MetricsSnapshot(long timeMillis, Map<String, Long> counters, Map<String, Long> gauges,
+                              Map<String, HistogramSnapshot> histograms) {
+
+    /**
+     * Format the snapshot as text, one metric per line.
+     *
+     * @param previous an earlier snapshot the rates are computed against, {@code null} for no rates.
+     * @return the formatted snapshot.
+     */
+    public String toText(MetricsSnapshot previous) {
+        StringBuilder builder = new StringBuilder();
+        counters.forEach((name, value) -> {
+            builder.append(name).append(" count=").append(value);
+            appendRate(builder, " rate=", rate(previous == null ? null : previous.counters.get(name), value, previous));
+            builder.append('\n');
+        });
+        gauges.forEach((name, value) -> builder.append(name).append(" value=").append(value).append('\n'));
+        histograms.forEach((name, h) -> {
+            builder.append(name).append(" count=").append(h.count());
+            appendRate(builder, " rate=", rate(previous == null || !previous.histograms.containsKey(name) ? null
+                    : previous.histograms.get(name).count(), h.count(), previous));
+            builder.append(String.format(" mean=%.1f p50=%d p90=%d p99=%d max=%d%n",
+                    h.mean(), h.p50(), h.p90(), h.p99(), h.max()));
+        });
+        return builder.toString();
+    }
+
+    /**
+     * Format the snapshot as a JSON object.
+     *
+     * @param previous an earlier snapshot the rates are computed against, {@code null} for no rates.
+     * @return the formatted snapshot.
+     */
+    public String toJson(MetricsSnapshot previous) {
+        StringJoiner counterJoiner = new StringJoiner(",", "{", "}");
+        counters.forEach((name, value) -> {
+            StringBuilder entry = new StringBuilder(quote(name)).append(":{\"count\":").append(value);
+            appendRate(entry, ",\"rate\":",
+                    rate(previous == null ? null : previous.counters.get(name), value, previous));
+            counterJoiner.add(entry.append('}'));
+        });
+        StringJoiner gaugeJoiner = new StringJoiner(",", "{", "}");
+        gauges.forEach((name, value) -> gaugeJoiner.add(quote(name) + ":" + value));
+        StringJoiner histogramJoiner = new StringJoiner(",", "{", "}");
+        histograms.forEach((name, h) -> {
+            StringBuilder entry = new StringBuilder(quote(name)).append(":{\"count\":").append(h.count());
+            appendRate(entry, ",\"rate\":", rate(previous == null || !previous.histograms.containsKey(name) ? null
+                    : previous.histograms.get(name).count(), h.count(), previous));
+            entry.append(String.format(",\"mean\":%.1f,\"p50\":%d,\"p90\":%d,\"p99\":%d,\"max\":%d}",
+                    h.mean(), h.p50(), h.p90(), h.p99(), h.max()));
+            histogramJoiner.add(entry);
+        });
+        return "{\"time\":" + timeMillis + ",\"counters\":" + counterJoiner + ",\"gauges\":" + gaugeJoiner
+                + ",\"histograms\":" + histogramJoiner + "}";
+    }
+
+    private Double rate(Long before, long now, MetricsSnapshot previous) {
+        if (previous == null || timeMillis <= previous.timeMillis) {
+            return null;
+        }
+        return (now - (before == null ? 0 : before)) * 1000.0 / (timeMillis - previous.timeMillis);
+    }
+
+    private static void appendRate(StringBuilder builder, String prefix, Double rate) {
+        if (rate != null) {
+            builder.append(prefix).append(String.format("%.2f", rate));
+        }
+    }
+
+    private static String quote(String name) {
+        return '"' + name.replace("\\", "\\\\").replace("\"", "\\\"") + '"';
+    }
+}
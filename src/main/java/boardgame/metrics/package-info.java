@@ -0,0 +1,4 @@
+/**
+ * Define the runtime metrics of the board game
+ */
+package boardgame.metrics;
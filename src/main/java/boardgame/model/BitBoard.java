@@ -0,0 +1,459 @@
+package boardgame.model;
+
+import java.util.Arrays;
+
+/**
+ * Compact bitboard representation of the board for the rules and the searches.
+ * Every piece is identified by its number and stands on a square of the {@link BoardGeometry} of its
+ * {@link GameVariant}. The squares occupied by each color are kept as bitmasks in the words of the geometry,
+ * so emptiness, mobility and win checks are mask operations against the shared neighbor and goal masks;
+ * the board also keeps the piece standing on every square.
+ * Directions are identified by the ordinal of {@link PieceDirection}.
+ */
+public class BitBoard {
+
+    /**
+     * Represents a piece which is not standing on the board.
+     */
+    public static final int OFF_BOARD = -1;
+
+    /**
+     * Represents an empty square.
+     */
+    public static final int EMPTY = -1;
+
+    /**
+     * Represents the number of directions a piece can move in.
+     */
+    public static final int DIRECTIONS = 4;
+
+    /**
+     * Represents the maximum number of pieces on a board, selectable pieces are reported in a {@code long} mask.
+     */
+    public static final int MAX_PIECES = Long.SIZE;
+
+    /**
+     * Represents the maximum number of moves of one side, the minimum size of a move buffer.
+     */
+    public static final int MAX_MOVES = MAX_PIECES * DIRECTIONS;
+
+    private final GameVariant variant;
+
+    private final BoardGeometry geometry;
+
+    /**
+     * Shared neighbor table of the geometry.
+     */
+    private final int[] neighbors;
+
+    /**
+     * Shared neighbor masks of the geometry, {@link #words} words per square.
+     */
+    private final long[] neighborMasks;
+
+    private final int words;
+
+    private final ChessColor[] colors;
+
+    /**
+     * Shared goal masks of the variant indexed by color ordinal.
+     */
+    private final long[][] goals;
+
+    private final int[] squares;
+
+    /**
+     * Piece number standing on every square, {@link #EMPTY} if the square is empty.
+     */
+    private final int[] pieceAt;
+
+    /**
+     * Mask of the squares occupied by every color indexed by color ordinal.
+     */
+    private final long[][] masks;
+
+    /**
+     * Mask of the squares occupied by any piece.
+     */
+    private final long[] occupied;
+
+    /**
+     * Number of squares occupied by every color indexed by color ordinal, a move never changes it.
+     */
+    private final int[] pieceCounts;
+
+    /**
+     * Number of pieces of every color standing on their goal squares indexed by color ordinal,
+     * maintained incrementally by {@link #move(int, int)}.
+     */
+    private final int[] onGoal;
+
+    /**
+     * Create {@code BitBoard} instance in the starting layout of a variant.
+     *
+     * @param variant the variant of the game.
+     */
+    public BitBoard(GameVariant variant) {
+        this.variant = variant;
+        this.geometry = variant.getGeometry();
+        this.neighbors = geometry.neighborTable();
+        this.neighborMasks = geometry.neighborMaskTable();
+        this.words = geometry.getWords();
+        this.colors = variant.colors();
+        this.goals = variant.goalMasks();
+        this.squares = variant.squares().clone();
+        this.pieceAt = new int[geometry.getSquares()];
+        this.masks = new long[ChessColor.values().length][words];
+        this.occupied = new long[words];
+        this.pieceCounts = new int[ChessColor.values().length];
+        this.onGoal = new int[ChessColor.values().length];
+        rebuild();
+    }
+
+    /**
+     * Create a copy of a {@code BitBoard} instance.
+     *
+     * @param other the board to be copied.
+     */
+    public BitBoard(BitBoard other) {
+        this.variant = other.variant;
+        this.geometry = other.geometry;
+        this.neighbors = other.neighbors;
+        this.neighborMasks = other.neighborMasks;
+        this.words = other.words;
+        this.colors = other.colors;
+        this.goals = other.goals;
+        this.squares = other.squares.clone();
+        this.pieceAt = other.pieceAt.clone();
+        this.masks = new long[other.masks.length][];
+        for (int c = 0; c < masks.length; c++) {
+            masks[c] = other.masks[c].clone();
+        }
+        this.occupied = other.occupied.clone();
+        this.pieceCounts = other.pieceCounts.clone();
+        this.onGoal = other.onGoal.clone();
+    }
+
+    /**
+     * Get the variant of the game.
+     *
+     * @return the variant.
+     */
+    public GameVariant getVariant() {
+        return variant;
+    }
+
+    /**
+     * Get the shared geometry of the board.
+     *
+     * @return the geometry.
+     */
+    public BoardGeometry getGeometry() {
+        return geometry;
+    }
+
+    /**
+     * Get the number of pieces on the board.
+     *
+     * @return number of pieces.
+     */
+    public int getNumberOfPieces() {
+        return squares.length;
+    }
+
+    /**
+     * Get the color of a piece.
+     *
+     * @param pieceNumber number of the piece.
+     * @return color of the piece.
+     */
+    public ChessColor getColor(int pieceNumber) {
+        return colors[pieceNumber];
+    }
+
+    /**
+     * Get the square of a piece.
+     *
+     * @param pieceNumber number of the piece.
+     * @return index of the square, {@link #OFF_BOARD} if the piece is outside the board.
+     */
+    public int getSquare(int pieceNumber) {
+        return squares[pieceNumber];
+    }
+
+    /**
+     * Get the piece standing on a square.
+     *
+     * @param square index of the square.
+     * @return number of the piece, {@link #EMPTY} if the square is empty.
+     */
+    public int getPieceAt(int square) {
+        return pieceAt[square];
+    }
+
+    /**
+     * Check if a square is a goal square of a color.
+     *
+     * @param color  color of the pieces.
+     * @param square index of the square.
+     * @return {@code true} if the pieces of the color need to stand on the square to win.
+     */
+    public boolean isGoal(ChessColor color, int square) {
+        return (goals[color.ordinal()][square >>> 6] & 1L << square) != 0;
+    }
+
+    /**
+     * Get a word of the mask of the squares occupied by pieces of a color.
+     *
+     * @param color color of the pieces.
+     * @param word  index of the word, less than {@link BoardGeometry#getWords()}.
+     * @return bit {@code s % 64} is set if square {@code s} of the word is occupied by the color.
+     */
+    public long getMask(ChessColor color, int word) {
+        return masks[color.ordinal()][word];
+    }
+
+    /**
+     * Get a word of the mask of all occupied squares.
+     *
+     * @param word index of the word, less than {@link BoardGeometry#getWords()}.
+     * @return bit {@code s % 64} is set if square {@code s} of the word is occupied.
+     */
+    public long getOccupied(int word) {
+        return occupied[word];
+    }
+
+    /**
+     * Get the valid moves of a piece as a bitmask of direction ordinals.
+     *
+     * @param pieceNumber number of the piece.
+     * @return bit {@code d} is set if the piece can move in the direction with ordinal {@code d}.
+     */
+    public int validMoveMask(int pieceNumber) {
+        int square = squares[pieceNumber];
+        if (square == OFF_BOARD) {
+            return 0;
+        }
+        int base = square * DIRECTIONS;
+        int result = 0;
+        for (int d = 0; d < DIRECTIONS; d++) {
+            if (isFree(neighbors[base + d])) {
+                result |= 1 << d;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Write all valid moves of the pieces of a color into a buffer.
+     * Every move is packed by {@link #packMove(int, int)}.
+     *
+     * @param color  color of the pieces to move.
+     * @param buffer buffer receiving the moves, at least {@link #MAX_MOVES} long.
+     * @return number of moves written into the buffer.
+     */
+    public int generateMoves(ChessColor color, int[] buffer) {
+        int count = 0;
+        for (int i = 0; i < squares.length; i++) {
+            int square = squares[i];
+            if (colors[i] != color || !canMoveFrom(square)) {
+                continue;
+            }
+            int base = square * DIRECTIONS;
+            for (int d = 0; d < DIRECTIONS; d++) {
+                if (isFree(neighbors[base + d])) {
+                    buffer[count++] = packMove(i, d);
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Get the pieces of a color that have at least one valid move.
+     *
+     * @param color color of the pieces.
+     * @return bit {@code i} is set if piece number {@code i} can be selected.
+     */
+    public long selectableMask(ChessColor color) {
+        long result = 0;
+        for (int i = 0; i < squares.length; i++) {
+            if (colors[i] == color && canMove(i)) {
+                result |= 1L << i;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Pack a move into an {@code int}.
+     *
+     * @param pieceNumber number of the piece.
+     * @param direction   ordinal of the direction.
+     * @return the packed move.
+     */
+    public static int packMove(int pieceNumber, int direction) {
+        return pieceNumber << 2 | direction;
+    }
+
+    /**
+     * Get the piece number of a packed move.
+     *
+     * @param move the packed move.
+     * @return number of the piece.
+     */
+    public static int movePiece(int move) {
+        return move >>> 2;
+    }
+
+    /**
+     * Get the direction of a packed move.
+     *
+     * @param move the packed move.
+     * @return ordinal of the direction.
+     */
+    public static int moveDirection(int move) {
+        return move & 3;
+    }
+
+    /**
+     * Get the opposite of a direction.
+     *
+     * @param direction ordinal of the direction.
+     * @return ordinal of the opposite direction.
+     */
+    public static int opposite(int direction) {
+        return DIRECTIONS - 1 - direction;
+    }
+
+    /**
+     * Check if a piece has at least one valid move.
+     *
+     * @param pieceNumber number of the piece.
+     * @return {@code true} if at least one neighbor square of the piece is empty.
+     */
+    public boolean canMove(int pieceNumber) {
+        return canMoveFrom(squares[pieceNumber]);
+    }
+
+    /**
+     * Check if a move is valid.
+     *
+     * @param pieceNumber number of the piece.
+     * @param direction   ordinal of the direction.
+     * @return {@code true} if the target square is on the board and empty.
+     */
+    public boolean isValidMove(int pieceNumber, int direction) {
+        int square = squares[pieceNumber];
+        return square != OFF_BOARD && isFree(neighbors[square * DIRECTIONS + direction]);
+    }
+
+    /**
+     * Move a piece to the neighbor square. The move must be valid.
+     *
+     * @param pieceNumber number of the piece.
+     * @param direction   ordinal of the direction.
+     */
+    public void move(int pieceNumber, int direction) {
+        int from = squares[pieceNumber];
+        int to = neighbors[from * DIRECTIONS + direction];
+        squares[pieceNumber] = to;
+        pieceAt[from] = EMPTY;
+        pieceAt[to] = pieceNumber;
+        int color = colors[pieceNumber].ordinal();
+        long[] mask = masks[color];
+        mask[from >>> 6] &= ~(1L << from);
+        mask[to >>> 6] |= 1L << to;
+        long[] goal = goals[color];
+        onGoal[color] += (int) (goal[to >>> 6] >>> to & 1) - (int) (goal[from >>> 6] >>> from & 1);
+        occupied[from >>> 6] &= ~(1L << from);
+        occupied[to >>> 6] |= 1L << to;
+    }
+
+    /**
+     * Take back a move of a piece made by {@link #move(int, int)}, the square it came from must still be empty.
+     *
+     * @param pieceNumber number of the piece.
+     * @param direction   ordinal of the direction of the move.
+     */
+    public void unmove(int pieceNumber, int direction) {
+        move(pieceNumber, opposite(direction));
+    }
+
+    /**
+     * Put a piece on an arbitrary square, even outside the board or onto another piece.
+     * If pieces share a square, the lowest piece number is found there
+     * and pieces of the same color sharing a square are counted once.
+     *
+     * @param pieceNumber number of the piece.
+     * @param position    new position of the piece.
+     */
+    public void place(int pieceNumber, Position position) {
+        squares[pieceNumber] = geometry.square(position);
+        rebuild();
+    }
+
+    /**
+     * Check if all pieces of a color stand on their goal squares.
+     *
+     * @param color color of the pieces.
+     * @return {@code true} if no piece of the color is outside its goal squares.
+     */
+    public boolean isWinner(ChessColor color) {
+        return onGoal[color.ordinal()] == pieceCounts[color.ordinal()];
+    }
+
+    /**
+     * Get the number of pieces of a color standing on their goal squares.
+     *
+     * @param color color of the pieces.
+     * @return number of pieces.
+     */
+    public int getPiecesOnGoal(ChessColor color) {
+        return onGoal[color.ordinal()];
+    }
+
+    private boolean isFree(int square) {
+        return square != OFF_BOARD && (occupied[square >>> 6] & 1L << square) == 0;
+    }
+
+    private boolean canMoveFrom(int square) {
+        if (square == OFF_BOARD) {
+            return false;
+        }
+        int base = square * words;
+        for (int w = 0; w < words; w++) {
+            if ((neighborMasks[base + w] & ~occupied[w]) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void rebuild() {
+        Arrays.fill(pieceAt, EMPTY);
+        for (long[] mask : masks) {
+            Arrays.fill(mask, 0);
+        }
+        Arrays.fill(occupied, 0);
+        for (int i = 0; i < squares.length; i++) {
+            int square = squares[i];
+            if (square == OFF_BOARD) {
+                continue;
+            }
+            if (pieceAt[square] == EMPTY) {
+                pieceAt[square] = i;
+            }
+            masks[colors[i].ordinal()][square >>> 6] |= 1L << square;
+            occupied[square >>> 6] |= 1L << square;
+        }
+        for (int c = 0; c < masks.length; c++) {
+            pieceCounts[c] = 0;
+            onGoal[c] = 0;
+            for (int w = 0; w < words; w++) {
+                pieceCounts[c] += Long.bitCount(masks[c][w]);
+                onGoal[c] += Long.bitCount(masks[c][w] & goals[c][w]);
+            }
+        }
+    }
+}
@@ -1,21 +1,51 @@
 package boardgame.model;
 
+import boardgame.event.GameEventLog;
+import boardgame.event.GameEventType;
+import boardgame.jfr.MoveEvent;
+import boardgame.jfr.MoveGenerationEvent;
+import boardgame.jfr.WinCheckEvent;
+import boardgame.metrics.Counter;
+import boardgame.metrics.Histogram;
+import boardgame.metrics.MetricsRegistry;
 import javafx.beans.property.ObjectProperty;
+import javafx.beans.property.ReadOnlyBooleanProperty;
+import javafx.beans.property.ReadOnlyBooleanWrapper;
 import javafx.beans.property.ReadOnlyIntegerWrapper;
 import javafx.beans.property.ReadOnlyObjectWrapper;
-import org.tinylog.Logger;
+import jdk.jfr.EventType;
 
 import java.util.*;
 
 /**
  * Model implementation of the game.
+ * It is an observable adapter over a {@link GameEngine} for the JavaFX user interface.
  */
 public class BoardGameModel {
 
+    private static final Histogram MOVE_TIME = MetricsRegistry.get().histogram("model.move");
+
+    private static final Histogram VALID_MOVES_TIME = MetricsRegistry.get().histogram("model.validMoves");
+
+    private static final Histogram GENERATE_MOVES_TIME = MetricsRegistry.get().histogram("model.generateMoves");
+
+    private static final Histogram SELECTABLE_TIME = MetricsRegistry.get().histogram("model.selectable");
+
+    private static final Histogram WIN_CHECK_TIME = MetricsRegistry.get().histogram("model.winCheck");
+
     /**
-     * Represents the size of the board.
+     * Represents the type of the move generation events. Every event type is checked before an event is created,
+     * since an event class instrumented by a recording is not always scalar-replaced.
      */
-    public static final int BOARD_SIZE = 5;
+    private static final EventType MOVE_GENERATION_EVENT = EventType.getEventType(MoveGenerationEvent.class);
+
+    private static final EventType MOVE_EVENT = EventType.getEventType(MoveEvent.class);
+
+    private static final EventType WIN_CHECK_EVENT = EventType.getEventType(WinCheckEvent.class);
+
+    private static final Counter UNDO_COUNT = MetricsRegistry.get().counter("model.undo");
+
+    private static final Counter REDO_COUNT = MetricsRegistry.get().counter("model.redo");
 
     /**
      * Represents the array of pieces on the board.
@@ -23,18 +53,35 @@ public class BoardGameModel {
     public ChessPiece[] pieces;
 
     /**
-     * Represents a list of positions that all red pieces need to stand in order to win the game.
+     * Represents the state of the game, the {@code pieces} array is a view over it.
+     */
+    private final GameEngine engine;
+
+    /**
+     * Represents the moves made on the engine since the model was created.
      */
-    private List<Position> redWinPositions = new ArrayList<>();
+    private final MoveLog moveLog = new MoveLog();
 
     /**
-     * Represents a list of positions that all blue pieces need to stand in order to win the game.
+     * Represents the moves taken back by {@link #undo()}, the last one is redone first.
      */
-    private List<Position> blueWinPositions = new ArrayList<>();
+    private final MoveLog redoLog = new MoveLog();
+
+    /**
+     * Represents the number of moves of the log that cannot be taken back,
+     * they were made before a piece was placed without a legal move.
+     */
+    private int undoFloor;
+
+    private final ReadOnlyBooleanWrapper undoable = new ReadOnlyBooleanWrapper();
+
+    private final ReadOnlyBooleanWrapper redoable = new ReadOnlyBooleanWrapper();
 
     private boardgame.model.Player player1;
     private boardgame.model.Player player2;
 
+    private boolean winRecorded;
+
 
     /**
      * Represents 2 player of the game.
@@ -76,26 +123,7 @@ public class BoardGameModel {
      * Create {@code BoardGameModel} instance
      */
     public BoardGameModel() {
-        this(
-                new ChessPiece(ChessColor.BLUE, new Position(0, 0)),
-                new ChessPiece(ChessColor.BLUE, new Position(0, 1)),
-                new ChessPiece(ChessColor.BLUE, new Position(0, 2)),
-                new ChessPiece(ChessColor.BLUE, new Position(0, 3)),
-                new ChessPiece(ChessColor.BLUE, new Position(0, 4)),
-                new ChessPiece(ChessColor.BLUE, new Position(1, 0)),
-                new ChessPiece(ChessColor.BLUE, new Position(1, 4)),
-                new ChessPiece(ChessColor.RED, new Position(4, 0)),
-                new ChessPiece(ChessColor.RED, new Position(4, 1)),
-                new ChessPiece(ChessColor.RED, new Position(4, 2)),
-                new ChessPiece(ChessColor.RED, new Position(4, 3)),
-                new ChessPiece(ChessColor.RED, new Position(4, 4)),
-                new ChessPiece(ChessColor.RED, new Position(3, 0)),
-                new ChessPiece(ChessColor.RED, new Position(3, 4))
-        );
-        currentPlayer.set(Player.PLAYER1);
-        addGameOverPositions();
-        countStepPlayer1.set(0);
-        countStepPlayer2.set(0);
+        this(new GameEngine());
     }
 
     /**
@@ -106,14 +134,74 @@ public class BoardGameModel {
     public BoardGameModel(ChessPiece... pieces) {
         checkPieces(pieces);
         this.pieces = pieces.clone();
+        ChessColor[] colors = new ChessColor[pieces.length];
+        Position[] positions = new Position[pieces.length];
+        for (int i = 0; i < pieces.length; i++) {
+            colors[i] = pieces[i].getChessColor();
+            positions[i] = pieces[i].getPosition();
+        }
+        this.engine = new GameEngine(colors, positions);
+        syncTurn();
     }
 
+    /**
+     * Create {@code BoardGameModel} instance observing a game engine.
+     *
+     * @param engine the engine holding the state of the game.
+     */
+    public BoardGameModel(GameEngine engine) {
+        this.engine = engine;
+        this.pieces = new ChessPiece[engine.getNumberOfPieces()];
+        for (int i = 0; i < pieces.length; i++) {
+            pieces[i] = new ChessPiece(engine.getPieceColor(i), engine.getPiecePosition(i));
+        }
+        syncTurn();
+    }
+
+    /**
+     * Get the engine holding the state of the game.
+     *
+     * @return the game engine.
+     */
+    public GameEngine getEngine() {
+        return engine;
+    }
+
+    /**
+     * Get the moves of the game, in the order they were made.
+     * Pieces placed without a legal move are not part of the log.
+     *
+     * @return the log of the moves.
+     */
+    public MoveLog getMoveLog() {
+        return moveLog;
+    }
+
+    /**
+     * Represents the size of the board of the standard variant.
+     *
+     * @deprecated a model may play another variant, use {@link #getBoardSize()}.
+     */
+    @Deprecated
+    public static final int BOARD_SIZE = GameVariant.STANDARD.getSize();
+
+    /**
+     * Get the number of rows and columns of the board.
+     *
+     * @return size of the board.
+     */
+    public int getBoardSize() {
+        return engine.getVariant().getSize();
+    }
 
+    /**
+     * Check if a position is on the board.
+     *
+     * @param position the position.
+     * @return {@code true} if the position is on the board.
+     */
     public boolean isOnBoard(Position position) {
-        if (position.row() >= 0 && position.row() < BOARD_SIZE && position.col() >= 0 && position.col() < BOARD_SIZE) {
-            return true;
-        }
-        return false;
+        return engine.getBoard().getGeometry().isOnBoard(position);
     }
 
     /**
@@ -133,7 +221,7 @@ public class BoardGameModel {
      */
     private void checkPieces(ChessPiece[] pieces) {
         for (ChessPiece piece : pieces) {
-            if (!isOnBoard(piece.getPosition())) {
+            if (!GameVariant.STANDARD.getGeometry().isOnBoard(piece.getPosition())) {
                 throw new IllegalArgumentException();
             }
         }
@@ -178,28 +266,10 @@ public class BoardGameModel {
         return this.pieces.length;
     }
 
-    /**
-     * Check if the next move is still on the board and not previously occupied by another piece.
-     *
-     * @param pieceNumber number of the piece.
-     * @param direction   direction of the next move.
-     * @return {@code true} if the next move is inside the board and not previously occupied by another piece.
-     * Otherwise {@code return} {@code false}.
-     */
-    private boolean isValidMove(int pieceNumber, PieceDirection direction) {
+    private void checkPieceNumber(int pieceNumber) {
         if (pieceNumber < 0 || pieceNumber >= pieces.length) {
             throw new IllegalArgumentException();
         }
-        Position newPosition = pieces[pieceNumber].getPosition().moveTo(direction);
-        if (!isOnBoard(newPosition)) {
-            return false;
-        }
-        for (ChessPiece piece : pieces) {
-            if (newPosition.equals(piece.getPosition())) {
-                return false;
-            }
-        }
-        return true;
     }
 
     /**
@@ -209,15 +279,71 @@ public class BoardGameModel {
      * @return set of possible moves.
      */
     public Set<PieceDirection> getValidMoves(int pieceNumber) {
-        Set<PieceDirection> validMoves = new HashSet<>();
+        checkPieceNumber(pieceNumber);
+        MoveGenerationEvent event = MOVE_GENERATION_EVENT.isEnabled() ? new MoveGenerationEvent() : null;
+        if (event != null) {
+            event.begin();
+        }
+        long start = System.nanoTime();
+        int mask = engine.getValidMoveMask(pieceNumber);
+        Set<PieceDirection> validMoves = EnumSet.noneOf(PieceDirection.class);
         for (PieceDirection direction : PieceDirection.values()) {
-            if (isValidMove(pieceNumber, direction)) {
+            if ((mask & (1 << direction.ordinal())) != 0) {
                 validMoves.add(direction);
             }
         }
+        VALID_MOVES_TIME.recordSince(start);
+        if (event != null && event.shouldCommit()) {
+            event.set(getPieceColor(pieceNumber).name(), pieceNumber, validMoves.size());
+            event.commit();
+        }
         return validMoves;
     }
 
+    /**
+     * Get all the possible moves of a chess piece without allocating.
+     *
+     * @param pieceNumber number of the piece.
+     * @return bit {@code d} is set if the piece can move in the direction with ordinal {@code d}.
+     */
+    public int getValidMoveMask(int pieceNumber) {
+        checkPieceNumber(pieceNumber);
+        return engine.getValidMoveMask(pieceNumber);
+    }
+
+    /**
+     * Write all possible moves of a color into a reusable buffer without allocating.
+     * Moves are packed by {@link BitBoard#packMove(int, int)}.
+     *
+     * @param color  color of the pieces to move.
+     * @param buffer buffer receiving the moves, at least {@link BitBoard#MAX_MOVES} long.
+     * @return number of moves written into the buffer.
+     */
+    public int generateMoves(ChessColor color, int[] buffer) {
+        MoveGenerationEvent event = MOVE_GENERATION_EVENT.isEnabled() ? new MoveGenerationEvent() : null;
+        if (event != null) {
+            event.begin();
+        }
+        long start = System.nanoTime();
+        int count = engine.generateMoves(color, buffer);
+        GENERATE_MOVES_TIME.recordSince(start);
+        if (event != null && event.shouldCommit()) {
+            event.set(color.name(), -1, count);
+            event.commit();
+        }
+        return count;
+    }
+
+    /**
+     * Get the pieces of a color that can be selected without allocating.
+     *
+     * @param color color of the pieces.
+     * @return bit {@code i} is set if piece number {@code i} can be selected.
+     */
+    public long getSelectableMask(ChessColor color) {
+        return engine.getSelectableMask(color);
+    }
+
     /**
      * Get the number steps of {@code PLAYER1}
      *
@@ -242,6 +368,7 @@ public class BoardGameModel {
      * @param countStepPlayer1 number of steps of {@code PLAYER1}
      */
     public void setCountStepPlayer1(int countStepPlayer1) {
+        engine.setSteps(ChessColor.RED, countStepPlayer1);
         this.countStepPlayer1.set(countStepPlayer1);
     }
 
@@ -269,6 +396,7 @@ public class BoardGameModel {
      * @param countStepPlayer2 number of steps of {@code PLAYER2}
      */
     public void setCountStepPlayer2(int countStepPlayer2) {
+        engine.setSteps(ChessColor.BLUE, countStepPlayer2);
         this.countStepPlayer2.set(countStepPlayer2);
     }
 
@@ -279,16 +407,105 @@ public class BoardGameModel {
      * @param direction   direction of the move.
      */
     public void move(int pieceNumber, PieceDirection direction) {
-        pieces[pieceNumber].moveTo(direction);
-        if (currentPlayer.get().equals(Player.PLAYER1)) {
-            setCountStepPlayer1(getCountStepPlayer1() + 1);
-            Logger.info("Number of steps of PLAYER1: {}", countStepPlayer1);
+        MoveEvent event = MOVE_EVENT.isEnabled() ? new MoveEvent() : null;
+        if (event != null) {
+            event.begin();
+        }
+        long start = System.nanoTime();
+        Player player = currentPlayer.get();
+        boolean legal = engine.isValidMove(pieceNumber, direction.ordinal());
+        if (legal) {
+            engine.move(pieceNumber, direction.ordinal());
+            moveLog.record(pieceNumber, direction.ordinal());
+            pieces[pieceNumber].positionProperty().set(engine.getPiecePosition(pieceNumber));
+        } else {
+            pieces[pieceNumber].moveTo(direction);
+            engine.place(pieceNumber, pieces[pieceNumber].getPosition());
+            engine.endTurn();
+            undoFloor = moveLog.size();
         }
-        if (currentPlayer.get().equals(Player.PLAYER2)) {
-            setCountStepPlayer2(getCountStepPlayer2() + 1);
-            Logger.info("Number of steps of PLAYER2: {}", countStepPlayer2);
+        redoLog.truncate(0);
+        syncTurn();
+        GameEventLog.get().log(GameEventType.MOVE, pieceNumber, direction.ordinal(),
+                player == Player.PLAYER1 ? countStepPlayer1.get() : countStepPlayer2.get());
+        MOVE_TIME.recordSince(start);
+        if (event != null && event.shouldCommit()) {
+            event.set(pieceNumber, direction.name(), player.name(), legal);
+            event.commit();
         }
-        currentPlayer.set(currentPlayer.get().next());
+    }
+
+    /**
+     * Take back the last move, including the step it counted and the turn.
+     * Once a color has won the game is over and no move can be taken back, the win has already been scored.
+     *
+     * @return {@code true} if a move was taken back, {@code false} if there is no move to take back.
+     */
+    public boolean undo() {
+        if (!undoable.get()) {
+            return false;
+        }
+        int move = moveLog.get(moveLog.size() - 1);
+        moveLog.truncate(moveLog.size() - 1);
+        int pieceNumber = BitBoard.movePiece(move);
+        engine.unmove(pieceNumber, BitBoard.moveDirection(move));
+        redoLog.record(pieceNumber, BitBoard.moveDirection(move));
+        pieces[pieceNumber].positionProperty().set(engine.getPiecePosition(pieceNumber));
+        syncTurn();
+        GameEventLog.get().log(GameEventType.UNDO, pieceNumber, BitBoard.moveDirection(move),
+                engine.getSteps(getPieceColor(pieceNumber)));
+        UNDO_COUNT.increment();
+        return true;
+    }
+
+    /**
+     * Make the last move taken back by {@link #undo()} again.
+     * Making any other move drops the moves that can be redone, and no move is redone once a color has won.
+     *
+     * @return {@code true} if a move was made, {@code false} if there is no move to redo.
+     */
+    public boolean redo() {
+        if (!redoable.get()) {
+            return false;
+        }
+        int move = redoLog.get(redoLog.size() - 1);
+        redoLog.truncate(redoLog.size() - 1);
+        int pieceNumber = BitBoard.movePiece(move);
+        engine.move(pieceNumber, BitBoard.moveDirection(move));
+        moveLog.record(pieceNumber, BitBoard.moveDirection(move));
+        pieces[pieceNumber].positionProperty().set(engine.getPiecePosition(pieceNumber));
+        syncTurn();
+        GameEventLog.get().log(GameEventType.REDO, pieceNumber, BitBoard.moveDirection(move),
+                engine.getSteps(getPieceColor(pieceNumber)));
+        REDO_COUNT.increment();
+        return true;
+    }
+
+    /**
+     * Get the property telling if there is a move to take back.
+     *
+     * @return {@code true} if {@link #undo()} takes back a move.
+     */
+    public ReadOnlyBooleanProperty undoableProperty() {
+        return undoable.getReadOnlyProperty();
+    }
+
+    /**
+     * Get the property telling if there is a move to redo.
+     *
+     * @return {@code true} if {@link #redo()} makes a move.
+     */
+    public ReadOnlyBooleanProperty redoableProperty() {
+        return redoable.getReadOnlyProperty();
+    }
+
+    private void syncTurn() {
+        boolean over = engine.isWinner(ChessColor.RED) || engine.isWinner(ChessColor.BLUE);
+        undoable.set(!over && moveLog.size() > undoFloor);
+        redoable.set(!over && redoLog.size() > 0);
+        countStepPlayer1.set(engine.getSteps(ChessColor.RED));
+        countStepPlayer2.set(engine.getSteps(ChessColor.BLUE));
+        currentPlayer.set(engine.getSideToMove() == ChessColor.RED ? Player.PLAYER1 : Player.PLAYER2);
     }
 
     /**
@@ -311,12 +528,7 @@ public class BoardGameModel {
      * @return the piece number.
      */
     public int getPieceNumber(Position position) {
-        for (int i = 0; i < pieces.length; i++) {
-            if (pieces[i].getPosition().equals(position)) {
-                return i;
-            }
-        }
-        return -1;
+        return engine.getPieceNumber(position);
     }
 
 
@@ -329,67 +541,13 @@ public class BoardGameModel {
         return currentPlayer;
     }
 
-    private void addGameOverPositions() {
-        for (var piece : pieces) {
-            if (piece.getChessColor().equals(ChessColor.BLUE)) {
-                redWinPositions.add(piece.getPosition());
-            }
-            if (piece.getChessColor().equals(ChessColor.RED)) {
-                blueWinPositions.add(piece.getPosition());
-            }
-        }
-
-//        redWinPositions.add(new Position(0,0));
-//        redWinPositions.add(new Position(0,1));
-//        redWinPositions.add(new Position(0,2));
-//        redWinPositions.add(new Position(0,3));
-//        redWinPositions.add(new Position(0,4));
-//        redWinPositions.add(new Position(1,0));
-//        redWinPositions.add(new Position(1,4));
-
-//        blueWinPositions.add(new Position(4, 0));
-//        blueWinPositions.add(new Position(4, 1));
-//        blueWinPositions.add(new Position(4, 2));
-//        blueWinPositions.add(new Position(4, 3));
-//        blueWinPositions.add(new Position(4, 4));
-//        blueWinPositions.add(new Position(3, 0));
-//        blueWinPositions.add(new Position(3, 4));
-    }
-
     /**
      * Get the list of red pieces that can be selected.
      *
      * @return list of red pieces that can be selected.
      */
     public List<Position> getSelectableRed() {
-        List<Position> list = new ArrayList<>();
-        for (ChessPiece piece : pieces) {
-            if (getRedValidMoves(getPieceNumber(piece.getPosition())).size() > 0){
-                list.add(piece.getPosition());
-            }
-        }
-        return list;
-    }
-
-    private boolean isValidMoveRed(int pieceNumber, PieceDirection direction) {
-        if (pieceNumber < 0 || pieceNumber >= pieces.length) {
-            throw new IllegalArgumentException();
-        }
-        if (pieces[pieceNumber].getChessColor().equals(ChessColor.RED)) {
-            return isValidMove(pieceNumber, direction);
-        } else {
-            return false;
-        }
-    }
-
-    private Set<PieceDirection> getRedValidMoves(int pieceNumber) {
-        Set<PieceDirection> validMoves = new HashSet<>();
-        for (PieceDirection direction : PieceDirection.values()) {
-            if (isValidMoveRed(pieceNumber, direction)) {
-                validMoves.add(direction);
-            }
-        }
-        return validMoves;
+        return getSelectable(ChessColor.RED);
     }
 
     /**
@@ -398,44 +556,28 @@ public class BoardGameModel {
      * @return list of blue pieces that can be selected.
      */
     public List<Position> getSelectableBlue() {
-        List<Position> list = new ArrayList<>();
-        for (ChessPiece piece : pieces) {
-            if (getBlueValidMoves(getPieceNumber(piece.getPosition())).size() > 0){
-                list.add(piece.getPosition());
-            }
-        }
-        return list;
+        return getSelectable(ChessColor.BLUE);
     }
 
-    private boolean isValidMoveBlue(int pieceNumber, PieceDirection direction) {
-        if (pieceNumber < 0 || pieceNumber >= pieces.length) {
-            throw new IllegalArgumentException();
-        }
-        if (pieces[pieceNumber].getChessColor().equals(ChessColor.BLUE)) {
-            return isValidMove(pieceNumber, direction);
-        } else {
-            return false;
+    private List<Position> getSelectable(ChessColor color) {
+        MoveGenerationEvent event = MOVE_GENERATION_EVENT.isEnabled() ? new MoveGenerationEvent() : null;
+        if (event != null) {
+            event.begin();
         }
-    }
-
-    private Set<PieceDirection> getBlueValidMoves(int pieceNumber) {
-        Set<PieceDirection> validMoves = new HashSet<>();
-        for (PieceDirection direction : PieceDirection.values()) {
-            if (isValidMoveBlue(pieceNumber, direction)) {
-                validMoves.add(direction);
+        long start = System.nanoTime();
+        List<Position> list = new ArrayList<>();
+        long mask = engine.getSelectableMask(color);
+        for (int i = 0; i < pieces.length; i++) {
+            if ((mask & (1L << i)) != 0) {
+                list.add(pieces[i].getPosition());
             }
         }
-        return validMoves;
-    }
-
-    private List<Position> getRedPiecesPositions() {
-        List<Position> redPiecesPositions = new ArrayList<>();
-        for (ChessPiece piece : pieces) {
-            if (piece.getChessColor().equals(ChessColor.RED)) {
-                redPiecesPositions.add(piece.getPosition());
-            }
+        SELECTABLE_TIME.recordSince(start);
+        if (event != null && event.shouldCommit()) {
+            event.set(color.name(), -1, list.size());
+            event.commit();
         }
-        return redPiecesPositions;
+        return list;
     }
 
     /**
@@ -445,25 +587,7 @@ public class BoardGameModel {
      * {@code false} if at least one piece is still not in the win position
      */
     public boolean isRedWins() {
-        List<Position> positions = getRedPiecesPositions();
-        for (Position position : positions) {
-            if (!redWinPositions.contains(position)) {
-                return false;
-            }
-        }
-        player1.setScore(player1.getScore() + 100);
-        Logger.info("Player 1 took {} steps", player1.getStepCount());
-        return true;
-    }
-
-    private List<Position> getBluePiecesPositions() {
-        List<Position> bluePiecesPositions = new ArrayList<>();
-        for (ChessPiece piece : pieces) {
-            if (piece.getChessColor().equals(ChessColor.BLUE)) {
-                bluePiecesPositions.add(piece.getPosition());
-            }
-        }
-        return bluePiecesPositions;
+        return isWinner(ChessColor.RED);
     }
 
     /**
@@ -473,15 +597,38 @@ public class BoardGameModel {
      * {@code false} if at least one piece is still not in the win position
      */
     public boolean isBlueWins() {
-        List<Position> positions = getBluePiecesPositions();
-        for (Position position : positions) {
-            if (!blueWinPositions.contains(position)) {
-                return false;
-            }
+        return isWinner(ChessColor.BLUE);
+    }
+
+    private boolean isWinner(ChessColor color) {
+        WinCheckEvent event = WIN_CHECK_EVENT.isEnabled() ? new WinCheckEvent() : null;
+        if (event != null) {
+            event.begin();
         }
-        player2.setScore(player2.getScore() + 100);
-        Logger.info("Player 2 took {} steps", player2.getStepCount());
-        return true;
+        long start = System.nanoTime();
+        boolean winner = engine.isWinner(color);
+        WIN_CHECK_TIME.recordSince(start);
+        if (event != null && event.shouldCommit()) {
+            event.set(color.name(), winner);
+            event.commit();
+        }
+        return winner;
+    }
+
+    /**
+     * Award the win of a color to its player. The score is only awarded once per game,
+     * so calling it again for the same game has no effect.
+     *
+     * @param color color of the winning pieces.
+     */
+    public void recordWin(ChessColor color) {
+        if (winRecorded) {
+            return;
+        }
+        winRecorded = true;
+        var player = color == ChessColor.RED ? player1 : player2;
+        player.setScore(player.getScore() + 100);
+        GameEventLog.get().log(GameEventType.WIN, color == ChessColor.RED ? 1 : 2, player.getStepCount(), 0);
     }
 
     /**
@@ -0,0 +1,171 @@
+package boardgame.model;
+
+/**
+ * Immutable geometry of a square board of a given size.
+ * The index of a square is {@code row * size + col}, directions are identified by the ordinal of {@link PieceDirection}.
+ * The tables are computed once per size and shared by every game played on a board of that size,
+ * so moving a piece needs a table lookup instead of bounds checks.
+ * Sets of squares are bitmasks of {@link #getWords()} {@code long} words, square {@code s} is bit {@code s % 64}
+ * of word {@code s / 64}, so every board up to 8x8 fits in one word.
+ */
+public final class BoardGeometry {
+
+    /**
+     * Represents the smallest supported size of the board.
+     */
+    public static final int MIN_SIZE = 2;
+
+    /**
+     * Represents the largest supported size of the board.
+     */
+    public static final int MAX_SIZE = 16;
+
+    /**
+     * Represents the number of squares of the largest supported board.
+     */
+    public static final int MAX_SQUARES = MAX_SIZE * MAX_SIZE;
+
+    private static final BoardGeometry[] CACHE = new BoardGeometry[MAX_SIZE + 1];
+
+    private final int size;
+
+    /**
+     * Target square of every square and direction, {@link BitBoard#OFF_BOARD} if the target is outside the board.
+     */
+    private final int[] neighbors;
+
+    private final Position[] positions;
+
+    private final int words;
+
+    /**
+     * Mask of the diagonal neighbors of every square, {@link #words} words per square.
+     */
+    private final long[] neighborMasks;
+
+    private BoardGeometry(int size) {
+        this.size = size;
+        int squares = size * size;
+        this.neighbors = new int[squares * BitBoard.DIRECTIONS];
+        this.positions = new Position[squares];
+        this.words = (squares + Long.SIZE - 1) / Long.SIZE;
+        this.neighborMasks = new long[squares * words];
+        PieceDirection[] directions = PieceDirection.values();
+        for (int square = 0; square < squares; square++) {
+            Position position = new Position(square / size, square % size);
+            positions[square] = position;
+            for (PieceDirection direction : directions) {
+                int target = square(position.moveTo(direction));
+                neighbors[square * BitBoard.DIRECTIONS + direction.ordinal()] = target;
+                if (target != BitBoard.OFF_BOARD) {
+                    neighborMasks[square * words + (target >>> 6)] |= 1L << target;
+                }
+            }
+        }
+    }
+
+    /**
+     * Get the shared geometry of a board size.
+     *
+     * @param size number of rows and columns of the board.
+     * @return the geometry of the board.
+     * @throws IllegalArgumentException if the size is not between {@link #MIN_SIZE} and {@link #MAX_SIZE}.
+     */
+    public static BoardGeometry of(int size) {
+        if (size < MIN_SIZE || size > MAX_SIZE) {
+            throw new IllegalArgumentException();
+        }
+        synchronized (CACHE) {
+            if (CACHE[size] == null) {
+                CACHE[size] = new BoardGeometry(size);
+            }
+            return CACHE[size];
+        }
+    }
+
+    /**
+     * Get the number of rows and columns of the board.
+     *
+     * @return size of the board.
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Get the number of squares of the board.
+     *
+     * @return number of squares.
+     */
+    public int getSquares() {
+        return positions.length;
+    }
+
+    /**
+     * Get the number of {@code long} words of a mask of squares.
+     *
+     * @return number of words.
+     */
+    public int getWords() {
+        return words;
+    }
+
+    /**
+     * Check if a position is on the board.
+     *
+     * @param position the position.
+     * @return {@code true} if the position is on the board.
+     */
+    public boolean isOnBoard(Position position) {
+        return position.row() >= 0 && position.row() < size && position.col() >= 0 && position.col() < size;
+    }
+
+    /**
+     * Get the index of a square.
+     *
+     * @param position position of the square.
+     * @return index of the square, {@link BitBoard#OFF_BOARD} if the position is outside the board.
+     */
+    public int square(Position position) {
+        return isOnBoard(position) ? position.row() * size + position.col() : BitBoard.OFF_BOARD;
+    }
+
+    /**
+     * Get the position of a square.
+     *
+     * @param square index of the square.
+     * @return the shared {@code Position} instance of the square.
+     */
+    public Position position(int square) {
+        return positions[square];
+    }
+
+    /**
+     * Get the square reached from a square in one step.
+     *
+     * @param square    index of the square.
+     * @param direction ordinal of the direction.
+     * @return index of the target square, {@link BitBoard#OFF_BOARD} if it is outside the board.
+     */
+    public int neighbor(int square, int direction) {
+        return neighbors[square * BitBoard.DIRECTIONS + direction];
+    }
+
+    /**
+     * Get the table of the neighbors, it must not be modified.
+     *
+     * @return target square of every {@code square * DIRECTIONS + direction}.
+     */
+    int[] neighborTable() {
+        return neighbors;
+    }
+
+    /**
+     * Get the table of the neighbor masks, it must not be modified.
+     *
+     * @return the {@link #getWords()} words of the mask of the neighbors of every square, square after square.
+     */
+    long[] neighborMaskTable() {
+        return neighborMasks;
+    }
+}
@@ -0,0 +1,291 @@
+package boardgame.model;
+
+/**
+ * Headless implementation of the game state and rules.
+ * It only holds primitive state and has no JavaFX dependency, so it can be used
+ * by simulations and searches without a JavaFX runtime.
+ * {@link BoardGameModel} is the observable adapter over it used by the user interface.
+ */
+public class GameEngine {
+
+    private final BitBoard board;
+
+    private ChessColor sideToMove = ChessColor.RED;
+
+    private int redSteps;
+
+    private int blueSteps;
+
+    private long hash;
+
+    /**
+     * Create {@code GameEngine} instance with the starting layout of the standard variant.
+     */
+    public GameEngine() {
+        this(GameVariant.STANDARD);
+    }
+
+    /**
+     * Create {@code GameEngine} instance with the starting layout of a variant.
+     *
+     * @param variant the variant of the game.
+     */
+    public GameEngine(GameVariant variant) {
+        board = new BitBoard(variant);
+        hash = Zobrist.hash(board, sideToMove);
+    }
+
+    /**
+     * Create {@code GameEngine} instance with an arbitrary layout on the standard board and no goal squares.
+     *
+     * @param colors    colors of the pieces.
+     * @param positions positions of the pieces.
+     * @throws IllegalArgumentException if a piece is outside the board.
+     */
+    public GameEngine(ChessColor[] colors, Position[] positions) {
+        this(new GameVariant("custom", GameVariant.STANDARD.getSize(), colors, positions,
+                new Position[0], new Position[0]));
+    }
+
+    /**
+     * Create a copy of a {@code GameEngine} instance.
+     *
+     * @param other the engine to be copied.
+     */
+    public GameEngine(GameEngine other) {
+        board = new BitBoard(other.board);
+        sideToMove = other.sideToMove;
+        redSteps = other.redSteps;
+        blueSteps = other.blueSteps;
+        hash = other.hash;
+    }
+
+    /**
+     * Get the underlying bitboard.
+     *
+     * @return the bitboard of the game.
+     */
+    public BitBoard getBoard() {
+        return board;
+    }
+
+    /**
+     * Get the variant of the game.
+     *
+     * @return the variant.
+     */
+    public GameVariant getVariant() {
+        return board.getVariant();
+    }
+
+    /**
+     * Get number of pieces on the board.
+     *
+     * @return number of pieces.
+     */
+    public int getNumberOfPieces() {
+        return board.getNumberOfPieces();
+    }
+
+    /**
+     * Get the color of a piece.
+     *
+     * @param pieceNumber number of a piece.
+     * @return color of the piece.
+     */
+    public ChessColor getPieceColor(int pieceNumber) {
+        return board.getColor(pieceNumber);
+    }
+
+    /**
+     * Get the current position of a piece.
+     *
+     * @param pieceNumber number of a piece.
+     * @return current position of the piece, {@code null} if the piece is outside the board.
+     */
+    public Position getPiecePosition(int pieceNumber) {
+        int square = board.getSquare(pieceNumber);
+        return square == BitBoard.OFF_BOARD ? null : board.getGeometry().position(square);
+    }
+
+    /**
+     * Get the piece number of specified position if there is. Otherwise returns -1.
+     *
+     * @param position of the piece.
+     * @return the piece number.
+     */
+    public int getPieceNumber(Position position) {
+        int square = board.getGeometry().square(position);
+        return square == BitBoard.OFF_BOARD ? -1 : board.getPieceAt(square);
+    }
+
+    /**
+     * Get the color whose turn it is.
+     *
+     * @return color of the side to move.
+     */
+    public ChessColor getSideToMove() {
+        return sideToMove;
+    }
+
+    /**
+     * Get the Zobrist hash of the position, it is updated incrementally by every move.
+     * Positions with the same pieces on the same squares and the same side to move have the same hash.
+     *
+     * @return hash of the position.
+     */
+    public long getHash() {
+        return hash;
+    }
+
+    /**
+     * Get the number of steps taken by a color.
+     *
+     * @param color color of the pieces.
+     * @return number of steps.
+     */
+    public int getSteps(ChessColor color) {
+        return color == ChessColor.RED ? redSteps : blueSteps;
+    }
+
+    /**
+     * Set the number of steps taken by a color.
+     *
+     * @param color color of the pieces.
+     * @param steps number of steps.
+     */
+    public void setSteps(ChessColor color, int steps) {
+        if (color == ChessColor.RED) {
+            redSteps = steps;
+        } else {
+            blueSteps = steps;
+        }
+    }
+
+    /**
+     * Get all the possible moves of a piece.
+     *
+     * @param pieceNumber number of the piece.
+     * @return bit {@code d} is set if the piece can move in the direction with ordinal {@code d}.
+     */
+    public int getValidMoveMask(int pieceNumber) {
+        return board.validMoveMask(pieceNumber);
+    }
+
+    /**
+     * Check if a move is valid.
+     *
+     * @param pieceNumber number of the piece.
+     * @param direction   ordinal of the direction.
+     * @return {@code true} if the target square is on the board and empty.
+     */
+    public boolean isValidMove(int pieceNumber, int direction) {
+        return board.isValidMove(pieceNumber, direction);
+    }
+
+    /**
+     * Write all possible moves of the side to move into a reusable buffer.
+     *
+     * @param buffer buffer receiving the moves, at least {@link BitBoard#MAX_MOVES} long.
+     * @return number of moves written into the buffer.
+     */
+    public int generateMoves(int[] buffer) {
+        return board.generateMoves(sideToMove, buffer);
+    }
+
+    /**
+     * Write all possible moves of a color into a reusable buffer.
+     *
+     * @param color  color of the pieces to move.
+     * @param buffer buffer receiving the moves, at least {@link BitBoard#MAX_MOVES} long.
+     * @return number of moves written into the buffer.
+     */
+    public int generateMoves(ChessColor color, int[] buffer) {
+        return board.generateMoves(color, buffer);
+    }
+
+    /**
+     * Get the pieces of a color that can be selected.
+     *
+     * @param color color of the pieces.
+     * @return bit {@code i} is set if piece number {@code i} can be selected.
+     */
+    public long getSelectableMask(ChessColor color) {
+        return board.selectableMask(color);
+    }
+
+    /**
+     * Make a valid move and pass the turn to the other color.
+     *
+     * @param pieceNumber number of the piece.
+     * @param direction   ordinal of the direction.
+     */
+    public void move(int pieceNumber, int direction) {
+        ChessColor color = board.getColor(pieceNumber);
+        int from = board.getSquare(pieceNumber);
+        board.move(pieceNumber, direction);
+        hash ^= Zobrist.pieceKey(color, from) ^ Zobrist.pieceKey(color, board.getSquare(pieceNumber));
+        endTurn();
+    }
+
+    /**
+     * Take back the last move and give the turn back to the color that made it.
+     * It restores the board, the hash, the steps and the side to move in constant time.
+     *
+     * @param pieceNumber number of the piece of the last move.
+     * @param direction   ordinal of the direction of the last move.
+     */
+    public void unmove(int pieceNumber, int direction) {
+        ChessColor color = board.getColor(pieceNumber);
+        int to = board.getSquare(pieceNumber);
+        board.unmove(pieceNumber, direction);
+        hash ^= Zobrist.pieceKey(color, to) ^ Zobrist.pieceKey(color, board.getSquare(pieceNumber));
+        undoTurn();
+    }
+
+    /**
+     * Put a piece on an arbitrary position without passing the turn.
+     *
+     * @param pieceNumber number of the piece.
+     * @param position    new position of the piece.
+     */
+    public void place(int pieceNumber, Position position) {
+        board.place(pieceNumber, position);
+        hash = Zobrist.hash(board, sideToMove);
+    }
+
+    /**
+     * Count a step for the side to move and pass the turn to the other color.
+     */
+    public void endTurn() {
+        if (sideToMove == ChessColor.RED) {
+            redSteps++;
+            sideToMove = ChessColor.BLUE;
+        } else {
+            blueSteps++;
+            sideToMove = ChessColor.RED;
+        }
+        hash ^= Zobrist.BLUE_TO_MOVE;
+    }
+
+    private void undoTurn() {
+        if (sideToMove == ChessColor.BLUE) {
+            redSteps--;
+            sideToMove = ChessColor.RED;
+        } else {
+            blueSteps--;
+            sideToMove = ChessColor.BLUE;
+        }
+        hash ^= Zobrist.BLUE_TO_MOVE;
+    }
+
+    /**
+     * Check if all pieces of a color stand on their goal squares.
+     *
+     * @param color color of the pieces.
+     * @return {@code true} if the color has won the game.
+     */
+    public boolean isWinner(ChessColor color) {
+        return board.isWinner(color);
+    }
+}
@@ -0,0 +1,209 @@
+package boardgame.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Immutable rules of a variant of the game: the size of the board, the starting layout and the goal squares.
+ * A variant is shared by every game played with it, so its tables are only computed once.
+ */
+public final class GameVariant {
+
+    /**
+     * Represents the standard variant on a 5x5 board.
+     */
+    public static final GameVariant STANDARD = standard(5);
+
+    private final String name;
+
+    private final BoardGeometry geometry;
+
+    private final ChessColor[] colors;
+
+    private final int[] squares;
+
+    /**
+     * Mask of the goal squares of every color, in the words of the {@link BoardGeometry}.
+     */
+    private final long[][] goals = new long[ChessColor.values().length][];
+
+    /**
+     * Create {@code GameVariant} instance.
+     *
+     * @param name      name of the variant.
+     * @param size      number of rows and columns of the board.
+     * @param colors    colors of the pieces.
+     * @param positions starting positions of the pieces.
+     * @param redGoals  goal squares of the red pieces.
+     * @param blueGoals goal squares of the blue pieces.
+     * @throws IllegalArgumentException if the size is not supported, the number of colors and positions differ,
+     *                                  there are more than {@link BitBoard#MAX_PIECES} pieces
+     *                                  or a position is outside the board.
+     */
+    public GameVariant(String name, int size, ChessColor[] colors, Position[] positions,
+                       Position[] redGoals, Position[] blueGoals) {
+        this.name = name;
+        this.geometry = BoardGeometry.of(size);
+        if (colors.length != positions.length || colors.length > BitBoard.MAX_PIECES) {
+            throw new IllegalArgumentException();
+        }
+        this.colors = colors.clone();
+        this.squares = squaresOf(positions);
+        goals[ChessColor.RED.ordinal()] = goalMask(redGoals);
+        goals[ChessColor.BLUE.ordinal()] = goalMask(blueGoals);
+    }
+
+    /**
+     * Create the standard variant on a board of a given size.
+     * Blue fills the first row and the ends of the second row, red fills the last two rows the same way.
+     * The goal squares of each color are the starting squares of the other color.
+     *
+     * @param size number of rows and columns of the board, at least 4.
+     * @return the variant.
+     * @throws IllegalArgumentException if the size is not supported.
+     */
+    public static GameVariant standard(int size) {
+        if (size < 4) {
+            throw new IllegalArgumentException();
+        }
+        List<Position> blue = new ArrayList<>();
+        List<Position> red = new ArrayList<>();
+        for (int col = 0; col < size; col++) {
+            blue.add(new Position(0, col));
+            red.add(new Position(size - 1, col));
+        }
+        blue.add(new Position(1, 0));
+        blue.add(new Position(1, size - 1));
+        red.add(new Position(size - 2, 0));
+        red.add(new Position(size - 2, size - 1));
+
+        ChessColor[] colors = new ChessColor[blue.size() + red.size()];
+        List<Position> positions = new ArrayList<>(blue);
+        positions.addAll(red);
+        for (int i = 0; i < colors.length; i++) {
+            colors[i] = i < blue.size() ? ChessColor.BLUE : ChessColor.RED;
+        }
+        Position[] redPositions = red.toArray(new Position[0]);
+        Position[] bluePositions = blue.toArray(new Position[0]);
+        return new GameVariant(size + "x" + size, size, colors, positions.toArray(new Position[0]),
+                bluePositions, redPositions);
+    }
+
+    /**
+     * Get the name of the variant.
+     *
+     * @return name of the variant.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Get the shared geometry of the board.
+     *
+     * @return geometry of the board.
+     */
+    public BoardGeometry getGeometry() {
+        return geometry;
+    }
+
+    /**
+     * Get the number of rows and columns of the board.
+     *
+     * @return size of the board.
+     */
+    public int getSize() {
+        return geometry.getSize();
+    }
+
+    /**
+     * Get the number of pieces.
+     *
+     * @return number of pieces.
+     */
+    public int getNumberOfPieces() {
+        return colors.length;
+    }
+
+    /**
+     * Get the color of a piece.
+     *
+     * @param pieceNumber number of the piece.
+     * @return color of the piece.
+     */
+    public ChessColor getColor(int pieceNumber) {
+        return colors[pieceNumber];
+    }
+
+    /**
+     * Get the starting position of a piece.
+     *
+     * @param pieceNumber number of the piece.
+     * @return starting position of the piece.
+     */
+    public Position getStartPosition(int pieceNumber) {
+        return geometry.position(squares[pieceNumber]);
+    }
+
+    /**
+     * Check if a square is a goal square of a color.
+     *
+     * @param color  color of the pieces.
+     * @param square index of the square.
+     * @return {@code true} if the pieces of the color need to stand on the square to win.
+     */
+    public boolean isGoal(ChessColor color, int square) {
+        return (goals[color.ordinal()][square >>> 6] & 1L << square) != 0;
+    }
+
+    /**
+     * Get the colors of the pieces, the array must not be modified.
+     *
+     * @return colors of the pieces.
+     */
+    ChessColor[] colors() {
+        return colors;
+    }
+
+    /**
+     * Get the starting squares of the pieces, the array must not be modified.
+     *
+     * @return starting squares of the pieces.
+     */
+    int[] squares() {
+        return squares;
+    }
+
+    /**
+     * Get the goal masks of the colors, the arrays must not be modified.
+     *
+     * @return mask of the goal squares of every color indexed by color ordinal.
+     */
+    long[][] goalMasks() {
+        return goals;
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+
+    private int[] squaresOf(Position[] positions) {
+        int[] result = new int[positions.length];
+        for (int i = 0; i < positions.length; i++) {
+            result[i] = geometry.square(positions[i]);
+            if (result[i] == BitBoard.OFF_BOARD) {
+                throw new IllegalArgumentException();
+            }
+        }
+        return result;
+    }
+
+    private long[] goalMask(Position[] positions) {
+        long[] mask = new long[geometry.getWords()];
+        for (int square : squaresOf(positions)) {
+            mask[square >>> 6] |= 1L << square;
+        }
+        return mask;
+    }
+}
@@ -0,0 +1,173 @@
+package boardgame.model;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+
+/**
+ * In-memory copy of the leaderboard, ordered like the leaderboard queries of {@link PlayerDao}.
+ * It is loaded from the database once and then updated incrementally with the games recorded through it,
+ * so pages of the leaderboard are read without querying the database.
+ * Writes to the database that bypass the cache must {@link #invalidate()} it, the next read of the first page
+ * or the size loads it again, later pages are read with the keyset query until then.
+ */
+public class LeaderboardCache {
+
+    /**
+     * Represents the order of the leaderboard: higher score first, then fewer steps, then name.
+     */
+    public static final Comparator<Player> ORDER = Comparator.comparingInt(Player::getScore).reversed()
+            .thenComparingInt(Player::getStepCount)
+            .thenComparing(Player::getName);
+
+    private final PlayerDao dao;
+
+    private final NavigableSet<Player> ranking = new TreeSet<>(ORDER);
+
+    private final Map<String, Player> players = new HashMap<>();
+
+    private boolean valid;
+
+    /**
+     * Number of loads from the database, a write that overlaps a load cannot tell if the load saw its games.
+     */
+    private long loads;
+
+    /**
+     * Create {@code LeaderboardCache} instance, it is loaded on the first read.
+     *
+     * @param dao the DAO the leaderboard is loaded with.
+     */
+    public LeaderboardCache(PlayerDao dao) {
+        this.dao = dao;
+    }
+
+    /**
+     * Load the leaderboard from the database.
+     */
+    public synchronized void warm() {
+        ranking.clear();
+        players.clear();
+        for (Player player : dao.listPlayers()) {
+            players.put(player.getName(), player);
+            ranking.add(player);
+        }
+        loads++;
+        valid = true;
+    }
+
+    /**
+     * Drop the cached leaderboard, the next read loads it from the database.
+     */
+    public synchronized void invalidate() {
+        valid = false;
+    }
+
+    /**
+     * Record games in the database and update the cache with them.
+     * The write runs without holding the cache, so pages are still read while it is in progress.
+     * If the cache was loaded during the write, the load may already contain the games, so the cache is
+     * invalidated instead of having the games applied a second time.
+     *
+     * @param games the players of every game.
+     * @param write records the games in the database.
+     */
+    public void record(List<List<Player>> games, Runnable write) {
+        long before;
+        synchronized (this) {
+            before = loads;
+        }
+        write.run();
+        synchronized (this) {
+            if (loads == before) {
+                apply(games);
+            } else {
+                valid = false;
+            }
+        }
+    }
+
+    /**
+     * Update the aggregates of the players of recorded games, the same way the database updates them.
+     *
+     * @param games the players of every recorded game.
+     */
+    public synchronized void apply(List<List<Player>> games) {
+        if (!valid) {
+            return;
+        }
+        for (List<Player> game : games) {
+            for (Player result : game) {
+                Player old = players.get(result.getName());
+                Player updated = old == null
+                        ? new Player(result.getName(), result.getStepCount(), result.getScore())
+                        : new Player(result.getName(), Math.min(old.getStepCount(), result.getStepCount()),
+                        old.getScore() + result.getScore());
+                if (old != null) {
+                    ranking.remove(old);
+                }
+                players.put(updated.getName(), updated);
+                ranking.add(updated);
+            }
+        }
+    }
+
+    /**
+     * Get the first page of the leaderboard.
+     *
+     * @param limit maximum number of players.
+     * @return the best players in the order of the leaderboard.
+     */
+    public synchronized List<Player> getTop(int limit) {
+        ensureValid();
+        return copy(ranking, limit);
+    }
+
+    /**
+     * Get the page of the leaderboard after a player.
+     * A page read while the cache is invalid is queried by its key instead of loading the whole leaderboard.
+     *
+     * @param last  the last player of the previous page.
+     * @param limit maximum number of players.
+     * @return the players after {@code last} in the order of the leaderboard.
+     */
+    public List<Player> getAfter(Player last, int limit) {
+        synchronized (this) {
+            if (valid) {
+                return copy(ranking.tailSet(last, false), limit);
+            }
+        }
+        return dao.listPlayersAfter(last, limit);
+    }
+
+    /**
+     * Get the number of players on the leaderboard.
+     *
+     * @return number of players.
+     */
+    public synchronized int size() {
+        ensureValid();
+        return ranking.size();
+    }
+
+    private void ensureValid() {
+        if (!valid) {
+            warm();
+        }
+    }
+
+    private static List<Player> copy(NavigableSet<Player> players, int limit) {
+        List<Player> page = new ArrayList<>(Math.min(limit, players.size()));
+        for (Player player : players) {
+            if (page.size() == limit) {
+                break;
+            }
+            page.add(new Player(player.getName(), player.getStepCount(), player.getScore()));
+        }
+        return page;
+    }
+}
@@ -0,0 +1,83 @@
+package boardgame.model;
+
+import boardgame.jfr.DatabaseEvent;
+import boardgame.metrics.Histogram;
+import boardgame.metrics.MetricsRegistry;
+import jdk.jfr.EventType;
+import org.jdbi.v3.core.extension.ExtensionMethod;
+import org.jdbi.v3.core.statement.SqlLogger;
+import org.jdbi.v3.core.statement.StatementContext;
+
+import java.lang.reflect.Method;
+import java.sql.SQLException;
+import java.time.temporal.ChronoUnit;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Jdbi statement logger recording the execution time of every statement in the histogram
+ * {@code db.<method>} of the DAO method that ran it, and the failed statements in the counter {@code db.errors}.
+ * When the {@link DatabaseEvent} is enabled in a flight recording, every statement is also committed as an event;
+ * the event is begun before the execution and kept by the executing thread until the statement completes.
+ */
+class MetricsSqlLogger implements SqlLogger {
+
+    private static final ThreadLocal<DatabaseEvent> CURRENT_EVENT = new ThreadLocal<>();
+
+    private static final EventType DATABASE_EVENT = EventType.getEventType(DatabaseEvent.class);
+
+    private final MetricsRegistry registry;
+
+    private final Map<Method, Histogram> histograms = new ConcurrentHashMap<>();
+
+    MetricsSqlLogger(MetricsRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public void logBeforeExecution(StatementContext context) {
+        if (DATABASE_EVENT.isEnabled()) {
+            DatabaseEvent event = new DatabaseEvent();
+            event.begin();
+            CURRENT_EVENT.set(event);
+        }
+    }
+
+    @Override
+    public void logAfterExecution(StatementContext context) {
+        ExtensionMethod extensionMethod = context.getExtensionMethod();
+        Histogram histogram = extensionMethod == null ? registry.histogram("db.statement")
+                : histograms.computeIfAbsent(extensionMethod.getMethod(),
+                        method -> registry.histogram("db." + method.getName()));
+        histogram.record(context.getElapsedTime(ChronoUnit.NANOS));
+        commitEvent(context, false);
+    }
+
+    @Override
+    public void logException(StatementContext context, SQLException ex) {
+        registry.counter("db.errors").increment();
+        commitEvent(context, true);
+    }
+
+    private static void commitEvent(StatementContext context, boolean failed) {
+        DatabaseEvent event = CURRENT_EVENT.get();
+        if (event == null) {
+            return;
+        }
+        CURRENT_EVENT.remove();
+        if (event.shouldCommit()) {
+            ExtensionMethod extensionMethod = context.getExtensionMethod();
+            event.set(extensionMethod == null ? null : extensionMethod.getMethod().getName(),
+                    failed ? -1 : rowsAffected(context), failed);
+            event.commit();
+        }
+    }
+
+    private static int rowsAffected(StatementContext context) {
+        try {
+            return context.getStatement() == null ? -1 : context.getStatement().getUpdateCount();
+        } catch (SQLException e) {
+            return -1;
+        }
+    }
+}
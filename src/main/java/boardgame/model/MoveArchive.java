@@ -0,0 +1,145 @@
+package boardgame.model;
+
+import org.tinylog.Logger;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Append-only archive of finished games in a compact binary format.
+ * The file starts with the {@link #MAGIC} bytes and the {@link #VERSION} byte, followed by one record per game:
+ * the size of the board of the standard variant in one byte, the number of moves as a big-endian {@code int}
+ * and one byte per move as encoded by {@link MoveLog}.
+ * Games are read back by {@link MoveArchiveReader}.
+ * Games may be appended in the background by {@link #appendAsync(int, MoveLog)}, closing the archive waits
+ * for the pending appends, so the last game of a session is not lost when the application exits.
+ */
+public class MoveArchive implements AutoCloseable {
+
+    /**
+     * Represents the path of the archive of the application.
+     */
+    public static final Path DEFAULT_PATH = Path.of("src/main/db/games.bgml");
+
+    /**
+     * Represents the first bytes of an archive.
+     */
+    static final byte[] MAGIC = {'B', 'G', 'M', 'L'};
+
+    /**
+     * Represents the version of the format.
+     */
+    static final byte VERSION = 1;
+
+    /**
+     * Represents the size of the file header.
+     */
+    static final int HEADER_BYTES = MAGIC.length + 1;
+
+    /**
+     * Represents the size of the header of a game record.
+     */
+    static final int RECORD_HEADER_BYTES = 1 + Integer.BYTES;
+
+    private static final long CLOSE_TIMEOUT_SECONDS = 10;
+
+    private final Path path;
+
+    private final ExecutorService appender = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "move-archive");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private FileChannel channel;
+
+    /**
+     * Create {@code MoveArchive} instance, the file is created by the first game appended.
+     *
+     * @param path path of the archive.
+     */
+    public MoveArchive(Path path) {
+        this.path = path;
+    }
+
+    /**
+     * Append a finished game to the archive.
+     *
+     * @param boardSize size of the board of the standard variant the game was played on.
+     * @param log       the moves of the game.
+     * @throws IOException if the archive cannot be written.
+     */
+    public synchronized void append(int boardSize, MoveLog log) throws IOException {
+        if (channel == null) {
+            Path parent = path.toAbsolutePath().getParent();
+            if (parent != null) {
+                parent.toFile().mkdirs();
+            }
+            channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.APPEND);
+        }
+        boolean empty = channel.size() == 0;
+        ByteBuffer buffer = ByteBuffer.allocate((empty ? HEADER_BYTES : 0) + RECORD_HEADER_BYTES + log.size());
+        if (empty) {
+            buffer.put(MAGIC).put(VERSION);
+        }
+        buffer.put((byte) boardSize).putInt(log.size()).put(log.toByteArray()).flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    /**
+     * Append a finished game to the archive on the background thread of the archive.
+     *
+     * @param boardSize size of the board of the standard variant the game was played on.
+     * @param log       the moves of the game, it must not be changed until the game is written.
+     * @return completed when the game is written, exceptionally if it cannot be written
+     * or the archive is closed.
+     */
+    public CompletableFuture<Void> appendAsync(int boardSize, MoveLog log) {
+        try {
+            return CompletableFuture.runAsync(() -> {
+                try {
+                    append(boardSize, log);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }, appender);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * Wait for the pending appends and close the file of the archive.
+     *
+     * @throws IOException if the file cannot be closed.
+     */
+    @Override
+    public void close() throws IOException {
+        appender.shutdown();
+        try {
+            if (!appender.awaitTermination(CLOSE_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                Logger.warn("Closing the move archive before its pending games are written");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        synchronized (this) {
+            if (channel != null) {
+                channel.close();
+                channel = null;
+            }
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package boardgame.model;
+
+import org.tinylog.Logger;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+/**
+ * Reader of a {@link MoveArchive} that maps the file into memory.
+ * Large archives are mapped in windows, so archives of any size are read without copying them onto the heap.
+ * A last game cut short by an interrupted append is skipped, the games before it are still replayed.
+ */
+public class MoveArchiveReader implements AutoCloseable {
+
+    private static final long WINDOW_BYTES = 1L << 30;
+
+    private final FileChannel channel;
+
+    private final long windowBytes;
+
+    private final GameEngine[] startPositions = new GameEngine[BoardGeometry.MAX_SIZE + 1];
+
+    /**
+     * Open an archive.
+     *
+     * @param path path of the archive.
+     * @throws IOException if the archive cannot be read or it is not an archive.
+     */
+    public MoveArchiveReader(Path path) throws IOException {
+        this(path, WINDOW_BYTES);
+    }
+
+    /**
+     * Open an archive which is mapped in windows of a given size.
+     *
+     * @param path        path of the archive.
+     * @param windowBytes size of a mapped window, it must hold the longest game of the archive.
+     * @throws IOException if the archive cannot be read or it is not an archive.
+     */
+    MoveArchiveReader(Path path, long windowBytes) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        this.windowBytes = windowBytes;
+        try {
+            MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0,
+                    Math.min(channel.size(), MoveArchive.HEADER_BYTES));
+            byte[] magic = new byte[MoveArchive.MAGIC.length];
+            if (header.remaining() < MoveArchive.HEADER_BYTES) {
+                throw new IOException("Not a move archive: " + path);
+            }
+            header.get(magic);
+            if (!Arrays.equals(magic, MoveArchive.MAGIC) || header.get() != MoveArchive.VERSION) {
+                throw new IOException("Not a move archive: " + path);
+            }
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Replay every game of the archive from the starting layout of its variant.
+     *
+     * @param finished receives the engine of every game after its last move.
+     * @return number of games, a truncated last game is not counted.
+     * @throws IOException if the archive cannot be read, a game is invalid or longer than a window.
+     */
+    public long replay(Consumer<GameEngine> finished) throws IOException {
+        long games = 0;
+        long size = channel.size();
+        long windowStart = MoveArchive.HEADER_BYTES;
+        while (windowStart < size) {
+            MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, windowStart,
+                    Math.min(windowBytes, size - windowStart));
+            int consumed = 0;
+            while (window.remaining() >= MoveArchive.RECORD_HEADER_BYTES) {
+                int boardSize = window.get(consumed);
+                int moves = window.getInt(consumed + 1);
+                if (moves < 0) {
+                    throw new IOException("Invalid game at byte " + (windowStart + consumed));
+                }
+                long end = (long) consumed + MoveArchive.RECORD_HEADER_BYTES + moves;
+                if (end > window.limit()) {
+                    break;
+                }
+                GameEngine engine = new GameEngine(startPosition(boardSize));
+                for (int i = consumed + MoveArchive.RECORD_HEADER_BYTES; i < end; i++) {
+                    int move = window.get(i) & 0xFF;
+                    engine.move(move >>> 2, move & 3);
+                }
+                finished.accept(engine);
+                games++;
+                consumed = (int) end;
+                window.position(consumed);
+            }
+            if (windowStart + window.limit() == size && consumed < window.limit()) {
+                Logger.warn("Skipping the truncated last game at byte {} of the move archive", windowStart + consumed);
+                break;
+            }
+            if (consumed == 0) {
+                throw new IOException("Game at byte " + windowStart + " is longer than a window");
+            }
+            windowStart += consumed;
+        }
+        return games;
+    }
+
+    /**
+     * Close the file of the archive.
+     *
+     * @throws IOException if the file cannot be closed.
+     */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private GameEngine startPosition(int boardSize) throws IOException {
+        if (boardSize < 4 || boardSize > BoardGeometry.MAX_SIZE) {
+            throw new IOException("Invalid board size " + boardSize);
+        }
+        if (startPositions[boardSize] == null) {
+            startPositions[boardSize] = new GameEngine(GameVariant.standard(boardSize));
+        }
+        return startPositions[boardSize];
+    }
+}
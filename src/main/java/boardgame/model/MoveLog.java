@@ -0,0 +1,96 @@
+package boardgame.model;
+
+import java.util.Arrays;
+
+/**
+ * Growable log of the moves of one game, one byte per move.
+ * A move is stored as packed by {@link BitBoard#packMove(int, int)}: the piece number in the upper six bits
+ * and the ordinal of the direction in the lower two bits, so the pieces of the standard game only use four bits.
+ */
+public class MoveLog {
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    private byte[] moves = new byte[INITIAL_CAPACITY];
+
+    private int size;
+
+    /**
+     * Append a move to the log.
+     *
+     * @param pieceNumber number of the piece, less than {@link BitBoard#MAX_PIECES}.
+     * @param direction   ordinal of the direction.
+     */
+    public void record(int pieceNumber, int direction) {
+        if (size == moves.length) {
+            moves = Arrays.copyOf(moves, 2 * size);
+        }
+        moves[size++] = encode(pieceNumber, direction);
+    }
+
+    /**
+     * Get the number of moves in the log.
+     *
+     * @return number of moves.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Get a move of the log.
+     *
+     * @param index index of the move.
+     * @return the move packed by {@link BitBoard#packMove(int, int)}.
+     */
+    public int get(int index) {
+        if (index >= size) {
+            throw new IndexOutOfBoundsException(index);
+        }
+        return moves[index] & 0xFF;
+    }
+
+    /**
+     * Remove the last moves of the log.
+     *
+     * @param newSize number of moves kept.
+     */
+    public void truncate(int newSize) {
+        if (newSize < 0 || newSize > size) {
+            throw new IndexOutOfBoundsException(newSize);
+        }
+        size = newSize;
+    }
+
+    /**
+     * Get a copy of the moves.
+     *
+     * @return one byte per move.
+     */
+    public byte[] toByteArray() {
+        return Arrays.copyOf(moves, size);
+    }
+
+    /**
+     * Encode a move into one byte.
+     *
+     * @param pieceNumber number of the piece, less than {@link BitBoard#MAX_PIECES}.
+     * @param direction   ordinal of the direction.
+     * @return the encoded move.
+     */
+    public static byte encode(int pieceNumber, int direction) {
+        return (byte) BitBoard.packMove(pieceNumber, direction);
+    }
+
+    /**
+     * Make the moves of a log on an engine.
+     *
+     * @param engine the engine, it must be in the position the log starts from.
+     * @param moves  one byte per move, as returned by {@link #toByteArray()}.
+     */
+    public static void replay(GameEngine engine, byte[] moves) {
+        for (byte move : moves) {
+            engine.move((move & 0xFF) >>> 2, move & 3);
+        }
+    }
+}
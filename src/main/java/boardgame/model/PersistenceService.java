@@ -0,0 +1,173 @@
+package boardgame.model;
+
+import boardgame.metrics.MetricsRegistry;
+import org.h2.jdbcx.JdbcConnectionPool;
+import org.jdbi.v3.core.Jdbi;
+import org.jdbi.v3.sqlobject.SqlObjectPlugin;
+import org.tinylog.Logger;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Application-scoped access to the player database and the archive of the moves.
+ * It owns a pool of H2 connections and sets up the schema and loads the leaderboard once, when it is opened,
+ * so storing the result of a game only costs the statements themselves.
+ * Closing it writes the waiting scores and the pending games of the archive.
+ */
+public class PersistenceService implements AutoCloseable {
+
+    /**
+     * Represents the JDBC URL of the database of the application.
+     */
+    public static final String DEFAULT_URL = "jdbc:h2:file:./src/main/db/playerdb";
+
+    /**
+     * Represents the number of players in a page of the leaderboard.
+     */
+    public static final int PAGE_SIZE = 50;
+
+    private static final int MAX_CONNECTIONS = 4;
+
+    private static PersistenceService instance;
+
+    private final JdbcConnectionPool pool;
+
+    private final Jdbi jdbi;
+
+    private final PlayerDao playerDao;
+
+    private final LeaderboardCache leaderboardCache;
+
+    private final ScoreWriter scoreWriter;
+
+    private final MoveArchive moveArchive;
+
+    /**
+     * Create {@code PersistenceService} instance and set up the schema of the database.
+     * The moves are archived in {@link MoveArchive#DEFAULT_PATH}.
+     *
+     * @param url JDBC URL of the H2 database.
+     */
+    public PersistenceService(String url) {
+        this(url, MoveArchive.DEFAULT_PATH);
+    }
+
+    /**
+     * Create {@code PersistenceService} instance and set up the schema of the database.
+     *
+     * @param url         JDBC URL of the H2 database.
+     * @param archivePath path of the archive of the moves.
+     */
+    public PersistenceService(String url, Path archivePath) {
+        moveArchive = new MoveArchive(archivePath);
+        pool = JdbcConnectionPool.create(url, "", "");
+        pool.setMaxConnections(MAX_CONNECTIONS);
+        jdbi = Jdbi.create(pool);
+        jdbi.installPlugin(new SqlObjectPlugin());
+        jdbi.setSqlLogger(new MetricsSqlLogger(MetricsRegistry.get()));
+        playerDao = jdbi.onDemand(PlayerDao.class);
+        playerDao.createSchema();
+        leaderboardCache = new LeaderboardCache(playerDao);
+        leaderboardCache.warm();
+        scoreWriter = new ScoreWriter(jdbi, leaderboardCache, ScoreWriter.DEFAULT_CAPACITY);
+        MetricsRegistry.get().gauge("score.queue", scoreWriter::getQueueSize);
+        Logger.info("Opened database {}", url);
+    }
+
+    /**
+     * Open the database of the application, it is used until {@link #shutdown()} is called.
+     *
+     * @param url JDBC URL of the H2 database.
+     * @return the service of the application.
+     * @throws IllegalStateException if the database of the application is already open.
+     */
+    public static synchronized PersistenceService start(String url) {
+        if (instance != null) {
+            throw new IllegalStateException();
+        }
+        instance = new PersistenceService(url);
+        return instance;
+    }
+
+    /**
+     * Get the service of the application, the {@link #DEFAULT_URL} database is opened if no database is open.
+     *
+     * @return the service of the application.
+     */
+    public static synchronized PersistenceService getInstance() {
+        if (instance == null) {
+            instance = new PersistenceService(DEFAULT_URL);
+        }
+        return instance;
+    }
+
+    /**
+     * Close the database of the application if it is open.
+     */
+    public static synchronized void shutdown() {
+        if (instance != null) {
+            instance.close();
+            instance = null;
+        }
+    }
+
+    /**
+     * Get the {@code Jdbi} instance of the database.
+     *
+     * @return the {@code Jdbi} instance.
+     */
+    public Jdbi getJdbi() {
+        return jdbi;
+    }
+
+    /**
+     * Get the DAO of the players. Every call borrows a pooled connection for the duration of the call.
+     *
+     * @return the DAO of the players.
+     */
+    public PlayerDao getPlayerDao() {
+        return playerDao;
+    }
+
+    /**
+     * Get the in-memory leaderboard, it is updated by the {@link ScoreWriter} of the service.
+     *
+     * @return the cache of the leaderboard.
+     */
+    public LeaderboardCache getLeaderboardCache() {
+        return leaderboardCache;
+    }
+
+    /**
+     * Get the background writer of the scores.
+     *
+     * @return the writer of the scores.
+     */
+    public ScoreWriter getScoreWriter() {
+        return scoreWriter;
+    }
+
+    /**
+     * Get the archive of the moves of the finished games.
+     *
+     * @return the archive of the moves.
+     */
+    public MoveArchive getMoveArchive() {
+        return moveArchive;
+    }
+
+    /**
+     * Write the waiting scores and games, then close the archive and every pooled connection.
+     */
+    @Override
+    public void close() {
+        scoreWriter.close();
+        try {
+            moveArchive.close();
+        } catch (IOException e) {
+            Logger.error(e, "Cannot close the move archive");
+        }
+        pool.dispose();
+    }
+}
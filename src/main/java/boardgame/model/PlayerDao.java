@@ -1,31 +1,161 @@
 package boardgame.model;
 
 import org.jdbi.v3.sqlobject.config.RegisterBeanMapper;
+import org.jdbi.v3.sqlobject.customizer.Bind;
 import org.jdbi.v3.sqlobject.customizer.BindBean;
+import org.jdbi.v3.sqlobject.statement.GetGeneratedKeys;
+import org.jdbi.v3.sqlobject.statement.SqlBatch;
 import org.jdbi.v3.sqlobject.statement.SqlQuery;
 import org.jdbi.v3.sqlobject.statement.SqlUpdate;
+import org.jdbi.v3.sqlobject.transaction.Transaction;
 
+import java.util.ArrayList;
 import java.util.List;
 
 @RegisterBeanMapper(Player.class)
 public interface PlayerDao {
 
+    /**
+     * Aggregates of every player: the total score, the fewest steps of a game and the number of games.
+     */
     @SqlUpdate("""
-    CREATE TABLE IF NOT EXISTS playertable(
+    CREATE TABLE IF NOT EXISTS players(
         name VARCHAR PRIMARY KEY,
-        stepCount INTEGER,
-        score INTEGER
+        score INTEGER NOT NULL,
+        stepCount INTEGER NOT NULL,
+        games INTEGER NOT NULL
     )
     """)
-    void createPlayerTable();
+    void createPlayersTable();
 
     @SqlUpdate("""
-    INSERT INTO playertable VALUES(:name, :stepCount, :score)
+    CREATE TABLE IF NOT EXISTS games(
+        id BIGINT AUTO_INCREMENT PRIMARY KEY,
+        finishedAt TIMESTAMP NOT NULL
+    )
+    """)
+    void createGamesTable();
+
+    @SqlUpdate("""
+    CREATE TABLE IF NOT EXISTS game_results(
+        gameId BIGINT NOT NULL REFERENCES games(id),
+        seat INTEGER NOT NULL,
+        name VARCHAR NOT NULL REFERENCES players(name),
+        stepCount INTEGER NOT NULL,
+        score INTEGER NOT NULL,
+        PRIMARY KEY(gameId, seat)
+    )
+    """)
+    void createGameResultsTable();
+
+    @SqlUpdate("""
+    CREATE INDEX IF NOT EXISTS players_leaderboard ON players(score DESC, stepCount, name)
+    """)
+    void createLeaderboardIndex();
+
+    @SqlQuery("""
+    SELECT COUNT(*) > 0 FROM INFORMATION_SCHEMA.TABLES WHERE TABLE_NAME = 'PLAYERTABLE'
+    """)
+    boolean hasLegacyPlayerTable();
+
+    @SqlUpdate("""
+    MERGE INTO players KEY(name) SELECT name, score, stepCount, 1 FROM playertable
+    """)
+    void copyLegacyPlayers();
+
+    @SqlUpdate("""
+    DROP TABLE playertable
+    """)
+    void dropLegacyPlayerTable();
+
+    /**
+     * Create the tables of the players and their games, the single table of the old schema is merged into them.
+     */
+    @Transaction
+    default void createSchema() {
+        createPlayersTable();
+        createGamesTable();
+        createGameResultsTable();
+        createLeaderboardIndex();
+        if (hasLegacyPlayerTable()) {
+            copyLegacyPlayers();
+            dropLegacyPlayerTable();
+        }
+    }
+
+    @SqlUpdate("""
+    INSERT INTO games(finishedAt) VALUES(CURRENT_TIMESTAMP)
+    """)
+    @GetGeneratedKeys("id")
+    long insertGame();
+
+    @SqlBatch("""
+    INSERT INTO game_results(gameId, seat, name, stepCount, score) VALUES(:gameId, :seat, :name, :stepCount, :score)
     """)
-    void insertPlayer(@BindBean Player player);
+    void insertResults(@Bind("gameId") List<Long> gameIds, @Bind("seat") List<Integer> seats,
+                       @BindBean List<Player> players);
+
+    @SqlBatch("""
+    MERGE INTO players p
+    USING (SELECT CAST(:name AS VARCHAR) name, CAST(:stepCount AS INTEGER) stepCount, CAST(:score AS INTEGER) score) r
+    ON p.name = r.name
+    WHEN MATCHED THEN UPDATE SET score = p.score + r.score, stepCount = LEAST(p.stepCount, r.stepCount),
+        games = p.games + 1
+    WHEN NOT MATCHED THEN INSERT (name, score, stepCount, games) VALUES (r.name, r.score, r.stepCount, 1)
+    """)
+    void mergePlayers(@BindBean List<Player> players);
+
+    /**
+     * Record finished games and update the aggregates of their players in one transaction.
+     *
+     * @param games the players of every game, in the order of their seats.
+     */
+    @Transaction
+    default void recordGames(List<List<Player>> games) {
+        List<Long> gameIds = new ArrayList<>();
+        List<Integer> seats = new ArrayList<>();
+        List<Player> players = new ArrayList<>();
+        for (List<Player> game : games) {
+            long gameId = insertGame();
+            for (int seat = 0; seat < game.size(); seat++) {
+                gameIds.add(gameId);
+                seats.add(seat + 1);
+                players.add(game.get(seat));
+            }
+        }
+        mergePlayers(players);
+        insertResults(gameIds, seats, players);
+    }
+
+    /**
+     * Record a finished game and update the aggregates of its players in one transaction.
+     *
+     * @param players the players of the game, in the order of their seats.
+     */
+    default void recordGame(List<Player> players) {
+        recordGames(List.of(players));
+    }
 
     @SqlQuery("""
-    SELECT * FROM playertable ORDER BY score DESC, stepCount
+    SELECT name, stepCount, score FROM players ORDER BY score DESC, stepCount, name
     """)
     List<Player> listPlayers();
+
+    @SqlQuery("""
+    SELECT name, stepCount, score FROM players ORDER BY score DESC, stepCount, name LIMIT :limit
+    """)
+    List<Player> listTopPlayers(@Bind("limit") int limit);
+
+    @SqlQuery("""
+    SELECT name, stepCount, score FROM players
+    WHERE score < :score
+        OR score = :score AND (stepCount > :stepCount OR stepCount = :stepCount AND name > :name)
+    ORDER BY score DESC, stepCount, name LIMIT :limit
+    """)
+    List<Player> listPlayersAfter(@BindBean Player last, @Bind("limit") int limit);
+
+    @SqlQuery("""
+    SELECT name, stepCount, score FROM game_results WHERE name = :name ORDER BY gameId
+    """)
+    List<Player> listResults(@Bind("name") String name);
 }
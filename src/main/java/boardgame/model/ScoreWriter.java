@@ -0,0 +1,254 @@
+package boardgame.model;
+
+import boardgame.event.GameEventLog;
+import boardgame.event.GameEventType;
+import boardgame.metrics.Histogram;
+import boardgame.metrics.MetricsRegistry;
+import org.jdbi.v3.core.Jdbi;
+import org.tinylog.Logger;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Background write-behind buffer of the scores of finished games.
+ * Submitted results wait in a bounded queue and are written by a single thread.
+ * The thread collects results until a batch is full or the oldest result has waited for the flush interval,
+ * then records the whole batch of games with JDBC batches in one transaction.
+ * A failed write is retried a few times before the result is completed exceptionally,
+ * so callers on the JavaFX thread never wait for the database.
+ */
+public class ScoreWriter implements AutoCloseable {
+
+    /**
+     * Represents the default number of results that may wait to be written.
+     */
+    public static final int DEFAULT_CAPACITY = 256;
+
+    /**
+     * Represents the default number of players written by one batch.
+     */
+    public static final int DEFAULT_BATCH_SIZE = 64;
+
+    /**
+     * Represents the default time the oldest result may wait for a batch to fill.
+     */
+    public static final long DEFAULT_FLUSH_MILLIS = 20;
+
+    private static final int MAX_ATTEMPTS = 3;
+
+    private static final long RETRY_DELAY_MILLIS = 100;
+
+    private static final long POLL_MILLIS = 100;
+
+    private final Jdbi jdbi;
+
+    private final LeaderboardCache leaderboardCache;
+
+    private final BlockingQueue<Request> queue;
+
+    private final int batchSize;
+
+    private final long flushNanos;
+
+    private final Thread thread;
+
+    private final Histogram writeTime = MetricsRegistry.get().histogram("score.write");
+
+    private final Histogram submitTime = MetricsRegistry.get().histogram("score.submit");
+
+    /**
+     * Guards the check of {@link #closed} with the offer of a request, so a request is never queued
+     * after the thread has seen the writer closed and the queue empty.
+     */
+    private final Object closeLock = new Object();
+
+    private volatile boolean closed;
+
+    private record Request(List<Player> players, boolean leaderboard, CompletableFuture<List<Player>> result) {
+    }
+
+    /**
+     * Create {@code ScoreWriter} instance with the default batch size and flush interval and start its thread.
+     *
+     * @param jdbi             the database with the player tables.
+     * @param leaderboardCache the cache of the leaderboard updated with the written games.
+     * @param capacity         number of results that may wait to be written.
+     */
+    public ScoreWriter(Jdbi jdbi, LeaderboardCache leaderboardCache, int capacity) {
+        this(jdbi, leaderboardCache, capacity, DEFAULT_BATCH_SIZE, DEFAULT_FLUSH_MILLIS);
+    }
+
+    /**
+     * Create {@code ScoreWriter} instance and start its thread.
+     *
+     * @param jdbi             the database with the player tables.
+     * @param leaderboardCache the cache of the leaderboard updated with the written games.
+     * @param capacity         number of results that may wait to be written.
+     * @param batchSize        number of players that makes a batch to be written at once.
+     * @param flushMillis      time the oldest result may wait for a batch to fill, in milliseconds.
+     */
+    public ScoreWriter(Jdbi jdbi, LeaderboardCache leaderboardCache, int capacity, int batchSize, long flushMillis) {
+        if (capacity < 1 || batchSize < 1 || flushMillis < 0) {
+            throw new IllegalArgumentException();
+        }
+        this.jdbi = jdbi;
+        this.leaderboardCache = leaderboardCache;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.batchSize = batchSize;
+        this.flushNanos = TimeUnit.MILLISECONDS.toNanos(flushMillis);
+        this.thread = new Thread(this::run, "score-writer");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Queue the players of a finished game to be written.
+     * The players are copied, so they may be changed after the call.
+     *
+     * @param players the players of the game.
+     * @return the first page of the leaderboard after the players are written, completed exceptionally with
+     * {@link RejectedExecutionException} if the queue is full or the writer is closed,
+     * or with the cause of the failure if the players could not be written.
+     */
+    public CompletableFuture<List<Player>> submit(List<Player> players) {
+        return offer(players, true);
+    }
+
+    /**
+     * Queue the players of a finished game to be written without loading the leaderboard.
+     * It is meant for producers of many results, like tournaments; failures are only logged.
+     *
+     * @param players the players of the game.
+     * @return {@code true} if the players are queued, {@code false} if the queue is full or the writer is closed.
+     */
+    public boolean enqueue(List<Player> players) {
+        return !offer(players, false).isCompletedExceptionally();
+    }
+
+    private CompletableFuture<List<Player>> offer(List<Player> players, boolean leaderboard) {
+        List<Player> copies = new ArrayList<>(players.size());
+        for (Player player : players) {
+            copies.add(new Player(player.getName(), player.getStepCount(), player.getScore()));
+        }
+        CompletableFuture<List<Player>> result = new CompletableFuture<>();
+        long start = System.nanoTime();
+        result.whenComplete((leaderboardPage, e) -> submitTime.recordSince(start));
+        boolean queued;
+        synchronized (closeLock) {
+            queued = !closed && queue.offer(new Request(copies, leaderboard, result));
+        }
+        if (!queued) {
+            result.completeExceptionally(new RejectedExecutionException("Score queue is full or closed"));
+        }
+        return result;
+    }
+
+    /**
+     * Get the number of results waiting to be written.
+     *
+     * @return number of results.
+     */
+    public int getQueueSize() {
+        return queue.size();
+    }
+
+    /**
+     * Write the waiting results and stop the thread.
+     */
+    @Override
+    public void close() {
+        synchronized (closeLock) {
+            closed = true;
+        }
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void run() {
+        List<Request> batch = new ArrayList<>();
+        while (!closed || !queue.isEmpty()) {
+            try {
+                Request first = queue.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                fill(batch, first);
+                write(batch);
+                batch.clear();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void fill(List<Request> batch, Request first) throws InterruptedException {
+        long deadline = System.nanoTime() + flushNanos;
+        batch.add(first);
+        int players = first.players().size();
+        while (players < batchSize) {
+            long remaining = deadline - System.nanoTime();
+            Request next = closed ? queue.poll() : queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                return;
+            }
+            batch.add(next);
+            players += next.players().size();
+        }
+    }
+
+    private void write(List<Request> batch) throws InterruptedException {
+        try {
+            List<Player> leaderboard = writeWithRetry(batch);
+            for (Request request : batch) {
+                request.result().complete(leaderboard);
+            }
+        } catch (RuntimeException e) {
+            if (batch.size() == 1) {
+                Logger.error(e, "Could not write the scores of {}", batch.get(0).players());
+                batch.get(0).result().completeExceptionally(e);
+                return;
+            }
+            for (Request request : batch) {
+                write(List.of(request));
+            }
+        }
+    }
+
+    private List<Player> writeWithRetry(List<Request> batch) throws InterruptedException {
+        List<List<Player>> games = new ArrayList<>();
+        boolean leaderboard = false;
+        for (Request request : batch) {
+            games.add(request.players());
+            leaderboard |= request.leaderboard();
+        }
+        int players = games.stream().mapToInt(List::size).sum();
+        for (int attempt = 1; ; attempt++) {
+            try {
+                long start = System.nanoTime();
+                leaderboardCache.record(games,
+                        () -> jdbi.useExtension(PlayerDao.class, dao -> dao.recordGames(games)));
+                writeTime.recordSince(start);
+                GameEventLog.get().log(GameEventType.SCORES_SAVED, games.size(), players, attempt);
+                break;
+            } catch (RuntimeException e) {
+                Logger.warn(e, "Could not write {} games, attempt {} of {}", games.size(), attempt, MAX_ATTEMPTS);
+                GameEventLog.get().log(GameEventType.PERSISTENCE_FAILED, games.size(), players, attempt);
+                if (attempt == MAX_ATTEMPTS) {
+                    throw e;
+                }
+                Thread.sleep(RETRY_DELAY_MILLIS * attempt);
+            }
+        }
+        return leaderboard ? leaderboardCache.getTop(PersistenceService.PAGE_SIZE) : null;
+    }
+}
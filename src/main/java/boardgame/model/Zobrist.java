@@ -0,0 +1,63 @@
+package boardgame.model;
+
+import java.util.SplittableRandom;
+
+/**
+ * Random keys of Zobrist hashing.
+ * Pieces of the same color are interchangeable, so keys belong to a color and a square.
+ * The keys are generated from a fixed seed, so hashes are stable between runs.
+ * The keys cover the largest supported board, a square has the same key on boards of every size.
+ */
+final class Zobrist {
+
+    private static final long SEED = 0x5DEECE66DL;
+
+    private static final long[][] PIECE_KEYS = new long[ChessColor.values().length][BoardGeometry.MAX_SQUARES];
+
+    /**
+     * Key of the position where blue is to move.
+     */
+    static final long BLUE_TO_MOVE;
+
+    static {
+        SplittableRandom random = new SplittableRandom(SEED);
+        for (long[] keys : PIECE_KEYS) {
+            for (int square = 0; square < keys.length; square++) {
+                keys[square] = random.nextLong();
+            }
+        }
+        BLUE_TO_MOVE = random.nextLong();
+    }
+
+    private Zobrist() {
+    }
+
+    /**
+     * Get the key of a piece standing on a square.
+     *
+     * @param color  color of the piece.
+     * @param square index of the square.
+     * @return the key.
+     */
+    static long pieceKey(ChessColor color, int square) {
+        return PIECE_KEYS[color.ordinal()][square];
+    }
+
+    /**
+     * Compute the hash of a position from scratch.
+     *
+     * @param board      the board.
+     * @param sideToMove color of the side to move.
+     * @return the hash of the position.
+     */
+    static long hash(BitBoard board, ChessColor sideToMove) {
+        long hash = sideToMove == ChessColor.BLUE ? BLUE_TO_MOVE : 0;
+        for (int i = 0; i < board.getNumberOfPieces(); i++) {
+            int square = board.getSquare(i);
+            if (square != BitBoard.OFF_BOARD) {
+                hash ^= pieceKey(board.getColor(i), square);
+            }
+        }
+        return hash;
+    }
+}
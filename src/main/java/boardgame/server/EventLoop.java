@@ -0,0 +1,196 @@
+package boardgame.server;
+
+import org.tinylog.Logger;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Selector thread owning a share of the connections of a {@link GameServer}.
+ * Every connection is read, handled and written only by its loop, so the sessions are single-writer and loops
+ * never share a lock. New connections are handed over through a queue and a wakeup of the selector.
+ * A connection whose answers cannot be written stops being read until the client catches up.
+ * A connection failing with an unexpected exception is closed alone, the loop keeps serving the others.
+ */
+class EventLoop implements Runnable {
+
+    static final int READ_BUFFER_BYTES = 256;
+
+    static final int WRITE_BUFFER_BYTES = 1024;
+
+    private final Selector selector;
+
+    private final Supplier<GameSession> sessionFactory;
+
+    private final Queue<SocketChannel> pending = new ConcurrentLinkedQueue<>();
+
+    private final AtomicInteger sessions = new AtomicInteger();
+
+    private final Thread thread;
+
+    private volatile boolean running = true;
+
+    private static final class Connection {
+        private final SocketChannel channel;
+        private final GameSession session;
+        private final ByteBuffer requests = ByteBuffer.allocate(READ_BUFFER_BYTES);
+        private final ByteBuffer answers = ByteBuffer.allocate(WRITE_BUFFER_BYTES);
+
+        private Connection(SocketChannel channel, GameSession session) {
+            this.channel = channel;
+            this.session = session;
+        }
+    }
+
+    EventLoop(String name, Supplier<GameSession> sessionFactory) throws IOException {
+        this.sessionFactory = sessionFactory;
+        selector = Selector.open();
+        thread = new Thread(this, name);
+        thread.setDaemon(true);
+    }
+
+    void start() {
+        thread.start();
+    }
+
+    /**
+     * Hand a connection over to the loop, it may be called from any thread.
+     *
+     * @param channel the accepted connection.
+     */
+    void add(SocketChannel channel) {
+        pending.add(channel);
+        selector.wakeup();
+    }
+
+    int getSessionCount() {
+        return sessions.get();
+    }
+
+    void close() throws InterruptedException {
+        running = false;
+        selector.wakeup();
+        thread.join();
+    }
+
+    @Override
+    public void run() {
+        try {
+            while (running) {
+                selector.select();
+                register();
+                for (SelectionKey key : selector.selectedKeys()) {
+                    handle(key);
+                }
+                selector.selectedKeys().clear();
+            }
+        } catch (IOException | ClosedSelectorException e) {
+            Logger.error(e, "Event loop {} failed", thread.getName());
+        } finally {
+            for (SelectionKey key : selector.keys()) {
+                close(key);
+            }
+            SocketChannel channel;
+            while ((channel = pending.poll()) != null) {
+                closeQuietly(channel);
+            }
+            try {
+                selector.close();
+            } catch (IOException e) {
+                Logger.warn(e, "Cannot close the selector of {}", thread.getName());
+            }
+        }
+    }
+
+    private void register() {
+        SocketChannel channel;
+        while ((channel = pending.poll()) != null) {
+            try {
+                channel.configureBlocking(false);
+                channel.register(selector, SelectionKey.OP_READ, new Connection(channel, sessionFactory.get()));
+                sessions.incrementAndGet();
+            } catch (IOException e) {
+                Logger.warn(e, "Cannot register a connection");
+                closeQuietly(channel);
+            }
+        }
+    }
+
+    private void handle(SelectionKey key) {
+        Connection connection = (Connection) key.attachment();
+        try {
+            if (key.isReadable() && connection.channel.read(connection.requests) < 0) {
+                close(key);
+                return;
+            }
+            process(key, connection);
+        } catch (IOException e) {
+            close(key);
+        } catch (RuntimeException e) {
+            Logger.error(e, "Closing a connection of {} after a failure", thread.getName());
+            close(key);
+        }
+    }
+
+    private void process(SelectionKey key, Connection connection) throws IOException {
+        ByteBuffer requests = connection.requests;
+        ByteBuffer answers = connection.answers;
+        // answers are written first: a full answer buffer stops the session, and the requests already read
+        // are handled as soon as the write makes room, since no read event comes while the request buffer is full
+        int written;
+        int handled;
+        do {
+            written = flush(connection);
+            requests.flip();
+            handled = connection.session.handle(requests, answers);
+            requests.compact();
+        } while ((written > 0 || handled > 0) && requests.position() > 0);
+        flush(connection);
+        if (answers.position() == 0 && connection.session.isClosing()) {
+            close(key);
+            return;
+        }
+        int ops = 0;
+        if (answers.position() > 0) {
+            ops |= SelectionKey.OP_WRITE;
+        }
+        if (requests.hasRemaining() && !connection.session.isClosing()) {
+            ops |= SelectionKey.OP_READ;
+        }
+        key.interestOps(ops);
+    }
+
+    private static int flush(Connection connection) throws IOException {
+        connection.answers.flip();
+        int written = connection.channel.write(connection.answers);
+        connection.answers.compact();
+        return written;
+    }
+
+    private void close(SelectionKey key) {
+        if (!key.isValid()) {
+            return;
+        }
+        key.cancel();
+        if (key.attachment() instanceof Connection connection) {
+            closeQuietly(connection.channel);
+            sessions.decrementAndGet();
+        }
+    }
+
+    private static void closeQuietly(SocketChannel channel) {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            Logger.debug(e, "Cannot close a connection");
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package boardgame.server;
+
+import boardgame.metrics.MetricsRegistry;
+import org.tinylog.Logger;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.function.LongSupplier;
+
+/**
+ * Headless TCP server hosting one game per connection with the binary {@link Protocol}.
+ * An acceptor thread hands the accepted connections round-robin to a fixed number of {@link EventLoop}s,
+ * every loop multiplexes its connections on one selector, so the number of threads does not grow with
+ * the number of sessions and no lock is shared by the sessions.
+ */
+public class GameServer implements AutoCloseable {
+
+    /**
+     * Represents the default port of the server.
+     */
+    public static final int DEFAULT_PORT = 7654;
+
+    /**
+     * Represents the name of the gauge of the open sessions, registered while the server is open.
+     */
+    public static final String SESSIONS_GAUGE = "server.sessions";
+
+    private static final int BACKLOG = 1024;
+
+    private final ServerSocketChannel serverChannel;
+
+    private final EventLoop[] loops;
+
+    private final Thread acceptor;
+
+    private volatile boolean running = true;
+
+    private final LongSupplier sessionGauge = this::getSessionCount;
+
+    /**
+     * Create {@code GameServer} instance, bind it and start accepting connections.
+     *
+     * @param address the address to listen on, port {@code 0} picks a free port.
+     * @param threads number of event loop threads.
+     * @throws IOException if the address cannot be bound.
+     */
+    public GameServer(InetSocketAddress address, int threads) throws IOException {
+        if (threads < 1) {
+            throw new IllegalArgumentException();
+        }
+        serverChannel = ServerSocketChannel.open();
+        loops = new EventLoop[threads];
+        try {
+            serverChannel.setOption(StandardSocketOptions.SO_REUSEADDR, true);
+            serverChannel.bind(address, BACKLOG);
+            for (int i = 0; i < threads; i++) {
+                loops[i] = new EventLoop("game-server-" + i, GameSession::new);
+            }
+        } catch (IOException e) {
+            serverChannel.close();
+            throw e;
+        }
+        for (EventLoop loop : loops) {
+            loop.start();
+        }
+        acceptor = new Thread(this::accept, "game-server-acceptor");
+        acceptor.setDaemon(true);
+        acceptor.start();
+        MetricsRegistry.get().gauge(SESSIONS_GAUGE, sessionGauge);
+        Logger.info("Game server listening on {} with {} event loops", getAddress(), threads);
+    }
+
+    /**
+     * Get the address the server listens on.
+     *
+     * @return the bound address.
+     * @throws IOException if the server is closed.
+     */
+    public InetSocketAddress getAddress() throws IOException {
+        return (InetSocketAddress) serverChannel.getLocalAddress();
+    }
+
+    /**
+     * Get the number of open sessions.
+     *
+     * @return number of connections registered in the event loops.
+     */
+    public int getSessionCount() {
+        int sessions = 0;
+        for (EventLoop loop : loops) {
+            sessions += loop.getSessionCount();
+        }
+        return sessions;
+    }
+
+    /**
+     * Stop accepting connections and close every session.
+     *
+     * @throws IOException if the server channel cannot be closed.
+     */
+    @Override
+    public void close() throws IOException {
+        running = false;
+        MetricsRegistry.get().removeGauge(SESSIONS_GAUGE, sessionGauge);
+        serverChannel.close();
+        try {
+            acceptor.join();
+            for (EventLoop loop : loops) {
+                loop.close();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void accept() {
+        int next = 0;
+        while (running) {
+            try {
+                SocketChannel channel = serverChannel.accept();
+                channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+                loops[next].add(channel);
+                next = (next + 1) % loops.length;
+            } catch (ClosedChannelException e) {
+                return;
+            } catch (IOException e) {
+                Logger.warn(e, "Cannot accept a connection");
+            }
+        }
+    }
+
+    /**
+     * Run the server until the process is stopped.
+     *
+     * @param args optional port and number of event loops, by default {@link #DEFAULT_PORT} and
+     *             the number of processors.
+     * @throws IOException if the port cannot be bound.
+     */
+    public static void main(String[] args) throws IOException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PORT;
+        int threads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        GameServer server = new GameServer(new InetSocketAddress(port), threads);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            try {
+                server.close();
+            } catch (IOException e) {
+                Logger.warn(e, "Cannot close the game server");
+            }
+        }));
+        try {
+            Thread.currentThread().join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
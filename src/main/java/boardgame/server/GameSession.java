@@ -0,0 +1,121 @@
+package boardgame.server;
+
+import boardgame.model.BitBoard;
+import boardgame.model.ChessColor;
+import boardgame.model.GameEngine;
+import boardgame.model.GameVariant;
+import boardgame.model.MoveLog;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Game of one connection of the {@link GameServer}, decoding the requests and encoding the answers.
+ * A session is only used by the thread of the event loop owning its connection, so it needs no lock.
+ */
+public class GameSession {
+
+    private GameEngine engine;
+
+    private final MoveLog moveLog = new MoveLog();
+
+    private boolean closing;
+
+    /**
+     * Answer the complete requests of a buffer.
+     * Requests are consumed while the answer buffer has room for the longest answer,
+     * an incomplete request is left in the buffer until the rest of it arrives.
+     *
+     * @param requests buffer of the received bytes, in read mode.
+     * @param answers  buffer receiving the answers, in write mode.
+     * @return number of requests answered.
+     */
+    public int handle(ByteBuffer requests, ByteBuffer answers) {
+        int handled = 0;
+        while (!closing && requests.hasRemaining() && answers.remaining() >= Protocol.MAX_RESPONSE_BYTES) {
+            byte type = requests.get(requests.position());
+            int length = Protocol.requestLength(type);
+            if (length < 0) {
+                answers.put(Protocol.ERROR).put(Protocol.UNKNOWN_REQUEST);
+                closing = true;
+                return handled + 1;
+            }
+            if (requests.remaining() < length) {
+                break;
+            }
+            requests.get();
+            switch (type) {
+                case Protocol.NEW_GAME -> newGame(requests.get(), answers);
+                case Protocol.MOVE -> move(requests.get(), answers);
+                default -> undo(answers);
+            }
+            handled++;
+        }
+        return handled;
+    }
+
+    /**
+     * Check if the session sent its last answer, the connection is closed once it is written.
+     *
+     * @return {@code true} if the client sent a request of an unknown type.
+     */
+    public boolean isClosing() {
+        return closing;
+    }
+
+    /**
+     * Get the game of the session.
+     *
+     * @return the game, {@code null} if no game was started.
+     */
+    public GameEngine getEngine() {
+        return engine;
+    }
+
+    private void newGame(int size, ByteBuffer answers) {
+        try {
+            engine = new GameEngine(GameVariant.standard(size));
+        } catch (RuntimeException e) {
+            answers.put(Protocol.ERROR).put(Protocol.INVALID_SIZE);
+            return;
+        }
+        moveLog.truncate(0);
+        answers.put(Protocol.STARTED).put((byte) size).put((byte) engine.getSideToMove().ordinal());
+    }
+
+    private void move(byte move, ByteBuffer answers) {
+        if (engine == null) {
+            answers.put(Protocol.ERROR).put(Protocol.NO_GAME);
+            return;
+        }
+        int piece = BitBoard.movePiece(move & 0xFF);
+        int direction = BitBoard.moveDirection(move & 0xFF);
+        if (piece >= engine.getNumberOfPieces() || engine.getPieceColor(piece) != engine.getSideToMove()
+                || isOver() || !engine.isValidMove(piece, direction)) {
+            answers.put(Protocol.ERROR).put(Protocol.ILLEGAL_MOVE);
+            return;
+        }
+        engine.move(piece, direction);
+        moveLog.record(piece, direction);
+        ChessColor color = engine.getPieceColor(piece);
+        answers.put(Protocol.MOVED).put(move).put((byte) (engine.isWinner(color) ? color.ordinal() + 1 : 0));
+    }
+
+    private void undo(ByteBuffer answers) {
+        if (engine == null) {
+            answers.put(Protocol.ERROR).put(Protocol.NO_GAME);
+            return;
+        }
+        if (moveLog.size() == 0) {
+            answers.put(Protocol.ERROR).put(Protocol.NOTHING_TO_UNDO);
+            return;
+        }
+        int move = moveLog.get(moveLog.size() - 1);
+        moveLog.truncate(moveLog.size() - 1);
+        engine.unmove(BitBoard.movePiece(move), BitBoard.moveDirection(move));
+        answers.put(Protocol.UNDONE).put((byte) move);
+    }
+
+    private boolean isOver() {
+        return engine.isWinner(ChessColor.RED) || engine.isWinner(ChessColor.BLUE);
+    }
+}
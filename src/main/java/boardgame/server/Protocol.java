@@ -0,0 +1,100 @@
+package boardgame.server;
+
+/**
+ * Binary protocol between the clients and the {@link GameServer}.
+ * Every message is a type byte followed by a fixed number of bytes given by the type, so frames need no length.
+ * A move is one byte as encoded by {@link boardgame.model.MoveLog#encode(int, int)}, a color is the ordinal of
+ * {@link boardgame.model.ChessColor}.
+ * <pre>
+ * client                              server
+ * NEW_GAME size                  -&gt;   STARTED size sideToMove
+ * MOVE move                      -&gt;   MOVED move winner      (winner: 0 or color ordinal + 1)
+ * UNDO                           -&gt;   UNDONE move
+ * any request                    -&gt;   ERROR code
+ * </pre>
+ * Requests are answered in order. A connection plays one game at a time, {@code NEW_GAME} replaces it.
+ */
+public final class Protocol {
+
+    /**
+     * Represents the request to start a game of the standard variant on a board of the given size.
+     */
+    public static final byte NEW_GAME = 0x01;
+
+    /**
+     * Represents the request to make a move for the side to move.
+     */
+    public static final byte MOVE = 0x02;
+
+    /**
+     * Represents the request to take back the last move.
+     */
+    public static final byte UNDO = 0x03;
+
+    /**
+     * Represents the answer to {@link #NEW_GAME}.
+     */
+    public static final byte STARTED = (byte) 0x81;
+
+    /**
+     * Represents the answer to {@link #MOVE}.
+     */
+    public static final byte MOVED = (byte) 0x82;
+
+    /**
+     * Represents the answer to {@link #UNDO}.
+     */
+    public static final byte UNDONE = (byte) 0x83;
+
+    /**
+     * Represents the answer to a request that was rejected.
+     */
+    public static final byte ERROR = (byte) 0xFF;
+
+    /**
+     * Represents the error of a request of an unknown type, the connection is closed after it.
+     */
+    public static final byte UNKNOWN_REQUEST = 1;
+
+    /**
+     * Represents the error of a move or an undo without a game.
+     */
+    public static final byte NO_GAME = 2;
+
+    /**
+     * Represents the error of a board size without a standard variant.
+     */
+    public static final byte INVALID_SIZE = 3;
+
+    /**
+     * Represents the error of a move that is not legal for the side to move or after the game is won.
+     */
+    public static final byte ILLEGAL_MOVE = 4;
+
+    /**
+     * Represents the error of an undo without a move to take back.
+     */
+    public static final byte NOTHING_TO_UNDO = 5;
+
+    /**
+     * Represents the length of the longest answer.
+     */
+    public static final int MAX_RESPONSE_BYTES = 3;
+
+    private Protocol() {
+    }
+
+    /**
+     * Get the length of a request.
+     *
+     * @param type the type byte of the request.
+     * @return number of bytes of the request including its type, {@code -1} if the type is unknown.
+     */
+    public static int requestLength(byte type) {
+        return switch (type) {
+            case NEW_GAME, MOVE -> 2;
+            case UNDO -> 1;
+            default -> -1;
+        };
+    }
+}
@@ -0,0 +1,4 @@
+/**
+ * Define the headless multi-session game server of the board game
+ */
+package boardgame.server;
@@ -0,0 +1,192 @@
+package boardgame.simulation;
+
+import boardgame.ai.AlphaBetaSearch;
+import boardgame.ai.ComputerPlayer;
+import boardgame.ai.GreedyPlayer;
+import boardgame.ai.RandomPlayer;
+import boardgame.ai.SearchPlayer;
+import boardgame.ai.TranspositionTable;
+import boardgame.model.BitBoard;
+import boardgame.model.ChessColor;
+import boardgame.model.GameEngine;
+import boardgame.model.GameVariant;
+import org.tinylog.Logger;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * Headless runner playing self-play games concurrently on a fork-join pool.
+ * Every leaf task creates its own players and statistics, results are merged when the tasks join,
+ * so no lock is shared while the games are played.
+ */
+public class SelfPlayRunner {
+
+    /**
+     * Represents the default limit of plies, longer games are counted as draws.
+     */
+    public static final int DEFAULT_MAX_PLIES = 400;
+
+    private static final long BATCH_SIZE = 32;
+
+    /**
+     * Represents the transposition table of the search players of every worker thread,
+     * so leaf tasks do not allocate a table each.
+     */
+    private static final ThreadLocal<TranspositionTable> SEARCH_TABLES = ThreadLocal.withInitial(() ->
+            new TranspositionTable(AlphaBetaSearch.DEFAULT_TABLE_ENTRIES,
+                    TranspositionTable.ReplacementPolicy.DEPTH_PREFERRED));
+
+    private final GameVariant variant;
+
+    private final int threads;
+
+    private final int maxPlies;
+
+    private final Supplier<? extends ComputerPlayer> redPlayers;
+
+    private final Supplier<? extends ComputerPlayer> bluePlayers;
+
+    /**
+     * Create {@code SelfPlayRunner} instance.
+     *
+     * @param threads     number of threads playing games.
+     * @param maxPlies    limit of plies of a game.
+     * @param redPlayers  factory of the players of {@code PLAYER1}, called by several threads.
+     * @param bluePlayers factory of the players of {@code PLAYER2}, called by several threads.
+     */
+    public SelfPlayRunner(int threads, int maxPlies,
+                          Supplier<? extends ComputerPlayer> redPlayers,
+                          Supplier<? extends ComputerPlayer> bluePlayers) {
+        this(GameVariant.STANDARD, threads, maxPlies, redPlayers, bluePlayers);
+    }
+
+    /**
+     * Create {@code SelfPlayRunner} instance playing a variant of the game.
+     *
+     * @param variant     the variant of the games.
+     * @param threads     number of threads playing games.
+     * @param maxPlies    limit of plies of a game.
+     * @param redPlayers  factory of the players of {@code PLAYER1}, called by several threads.
+     * @param bluePlayers factory of the players of {@code PLAYER2}, called by several threads.
+     */
+    public SelfPlayRunner(GameVariant variant, int threads, int maxPlies,
+                          Supplier<? extends ComputerPlayer> redPlayers,
+                          Supplier<? extends ComputerPlayer> bluePlayers) {
+        if (threads < 1 || maxPlies < 1) {
+            throw new IllegalArgumentException();
+        }
+        this.variant = variant;
+        this.threads = threads;
+        this.maxPlies = maxPlies;
+        this.redPlayers = redPlayers;
+        this.bluePlayers = bluePlayers;
+    }
+
+    /**
+     * Play games from the starting layout.
+     *
+     * @param games number of games.
+     * @return the aggregated results.
+     */
+    public SelfPlayStats run(long games) {
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            return pool.invoke(new GamesTask(0, games));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Play one game from the starting layout.
+     *
+     * @param red   player of the red pieces.
+     * @param blue  player of the blue pieces.
+     * @param stats statistics receiving the result.
+     */
+    void playGame(ComputerPlayer red, ComputerPlayer blue, SelfPlayStats stats) {
+        GameEngine engine = new GameEngine(variant);
+        ChessColor winner = null;
+        for (int ply = 0; ply < maxPlies; ply++) {
+            ChessColor side = engine.getSideToMove();
+            int move = (side == ChessColor.RED ? red : blue).chooseMove(engine);
+            if (move == AlphaBetaSearch.NO_MOVE) {
+                break;
+            }
+            engine.move(BitBoard.movePiece(move), BitBoard.moveDirection(move));
+            if (engine.isWinner(side)) {
+                winner = side;
+                break;
+            }
+        }
+        stats.record(winner, engine.getSteps(ChessColor.RED), engine.getSteps(ChessColor.BLUE));
+    }
+
+    private class GamesTask extends RecursiveTask<SelfPlayStats> {
+
+        private final long from;
+
+        private final long to;
+
+        GamesTask(long from, long to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected SelfPlayStats compute() {
+            if (to - from <= BATCH_SIZE) {
+                ComputerPlayer red = redPlayers.get();
+                ComputerPlayer blue = bluePlayers.get();
+                SelfPlayStats stats = new SelfPlayStats(maxPlies);
+                for (long game = from; game < to; game++) {
+                    playGame(red, blue, stats);
+                }
+                return stats;
+            }
+            long middle = (from + to) >>> 1;
+            GamesTask left = new GamesTask(from, middle);
+            left.fork();
+            SelfPlayStats right = new GamesTask(middle, to).compute();
+            return right.merge(left.join());
+        }
+    }
+
+    /**
+     * Create a factory of players by name.
+     *
+     * @param name one of {@code random}, {@code greedy} and {@code search}.
+     * @return the factory of players.
+     * @throws IllegalArgumentException if the name is unknown.
+     */
+    public static Supplier<ComputerPlayer> players(String name) {
+        return switch (name) {
+            case "random" -> () -> new RandomPlayer(ThreadLocalRandom.current().nextLong());
+            case "greedy" -> () -> new GreedyPlayer(ThreadLocalRandom.current().nextLong());
+            case "search" -> () -> new SearchPlayer(new AlphaBetaSearch(SEARCH_TABLES.get()), 60_000, 3);
+            default -> throw new IllegalArgumentException(name);
+        };
+    }
+
+    /**
+     * Run self-play games from the command line.
+     *
+     * @param args number of games, number of threads, player of red, player of blue and size of the board.
+     */
+    public static void main(String[] args) {
+        long games = args.length > 0 ? Long.parseLong(args[0]) : 10_000;
+        int threads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        String red = args.length > 2 ? args[2] : "random";
+        String blue = args.length > 3 ? args[3] : "random";
+        GameVariant variant = args.length > 4 ? GameVariant.standard(Integer.parseInt(args[4])) : GameVariant.STANDARD;
+        SelfPlayRunner runner = new SelfPlayRunner(variant, threads, DEFAULT_MAX_PLIES, players(red), players(blue));
+        long start = System.nanoTime();
+        SelfPlayStats stats = runner.run(games);
+        long elapsedNanos = System.nanoTime() - start;
+        Logger.info("{} vs {} on {} with {} threads: {}", red, blue, variant, threads, stats);
+        Logger.info("{} games/s", games * 1_000_000_000L / Math.max(1, elapsedNanos));
+    }
+}
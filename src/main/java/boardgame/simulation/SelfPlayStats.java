@@ -0,0 +1,146 @@
+package boardgame.simulation;
+
+import boardgame.model.ChessColor;
+
+import java.util.StringJoiner;
+
+/**
+ * Aggregated results of self-play games.
+ * Instances are filled by a single thread and merged afterwards, so they need no synchronization.
+ */
+public class SelfPlayStats {
+
+    private final long[] lengthHistogram;
+
+    private long redWins;
+
+    private long blueWins;
+
+    private long draws;
+
+    private long redSteps;
+
+    private long blueSteps;
+
+    /**
+     * Create {@code SelfPlayStats} instance.
+     *
+     * @param maxPlies maximum number of plies of a game.
+     */
+    public SelfPlayStats(int maxPlies) {
+        this.lengthHistogram = new long[maxPlies + 1];
+    }
+
+    /**
+     * Record the result of a game.
+     *
+     * @param winner    color of the winner, {@code null} for a draw.
+     * @param redSteps  number of steps of {@code PLAYER1}, who moves the red pieces.
+     * @param blueSteps number of steps of {@code PLAYER2}, who moves the blue pieces.
+     */
+    void record(ChessColor winner, int redSteps, int blueSteps) {
+        if (winner == ChessColor.RED) {
+            redWins++;
+        } else if (winner == ChessColor.BLUE) {
+            blueWins++;
+        } else {
+            draws++;
+        }
+        this.redSteps += redSteps;
+        this.blueSteps += blueSteps;
+        lengthHistogram[Math.min(redSteps + blueSteps, lengthHistogram.length - 1)]++;
+    }
+
+    /**
+     * Add the results of other games to this instance.
+     *
+     * @param other results of the other games.
+     * @return this instance.
+     */
+    SelfPlayStats merge(SelfPlayStats other) {
+        redWins += other.redWins;
+        blueWins += other.blueWins;
+        draws += other.draws;
+        redSteps += other.redSteps;
+        blueSteps += other.blueSteps;
+        for (int i = 0; i < lengthHistogram.length; i++) {
+            lengthHistogram[i] += other.lengthHistogram[i];
+        }
+        return this;
+    }
+
+    /**
+     * Get the number of games played.
+     *
+     * @return number of games.
+     */
+    public long getGames() {
+        return redWins + blueWins + draws;
+    }
+
+    /**
+     * Get the number of games won by red.
+     *
+     * @return number of games.
+     */
+    public long getRedWins() {
+        return redWins;
+    }
+
+    /**
+     * Get the number of games won by blue.
+     *
+     * @return number of games.
+     */
+    public long getBlueWins() {
+        return blueWins;
+    }
+
+    /**
+     * Get the number of games without winner, because a side got blocked or the ply limit was reached.
+     *
+     * @return number of games.
+     */
+    public long getDraws() {
+        return draws;
+    }
+
+    /**
+     * Get the average number of steps of {@code PLAYER1} per game.
+     *
+     * @return average number of steps.
+     */
+    public double getAverageStepsPlayer1() {
+        return getGames() == 0 ? 0 : (double) redSteps / getGames();
+    }
+
+    /**
+     * Get the average number of steps of {@code PLAYER2} per game.
+     *
+     * @return average number of steps.
+     */
+    public double getAverageStepsPlayer2() {
+        return getGames() == 0 ? 0 : (double) blueSteps / getGames();
+    }
+
+    /**
+     * Get the histogram of game lengths.
+     *
+     * @return element {@code n} is the number of games which took {@code n} plies.
+     */
+    public long[] getLengthHistogram() {
+        return lengthHistogram.clone();
+    }
+
+    @Override
+    public String toString() {
+        StringJoiner lengths = new StringJoiner(", ", "{", "}");
+        for (int plies = 0; plies < lengthHistogram.length; plies++) {
+            if (lengthHistogram[plies] != 0) {
+                lengths.add(plies + "=" + lengthHistogram[plies]);
+            }
+        }
+        return String.format("games=%d, redWins=%d, blueWins=%d, draws=%d, avgStepsPlayer1=%.2f, avgStepsPlayer2=%.2f, lengths=%s",
+                getGames(), redWins, blueWins, draws, getAverageStepsPlayer1(), getAverageStepsPlayer2(), lengths);
+    }
+}
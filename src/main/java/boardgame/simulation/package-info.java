@@ -0,0 +1,4 @@
+/**
+ * Define the headless self-play simulation of the board game
+ */
+package boardgame.simulation;
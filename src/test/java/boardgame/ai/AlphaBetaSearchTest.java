@@ -0,0 +1,58 @@
+package boardgame.ai;
+
+import boardgame.model.BitBoard;
+import boardgame.model.ChessColor;
+import boardgame.model.GameEngine;
+import boardgame.model.GameVariant;
+import boardgame.model.PieceDirection;
+import boardgame.model.Position;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AlphaBetaSearchTest {
+
+    AlphaBetaSearch search;
+
+    @BeforeEach
+    void init() {
+        search = new AlphaBetaSearch();
+    }
+
+    @Test
+    void search_findsWinningMove() {
+        GameEngine engine = new GameEngine(new GameVariant("test", 5,
+                new ChessColor[]{ChessColor.RED, ChessColor.RED, ChessColor.BLUE},
+                new Position[]{new Position(0, 2), new Position(1, 1), new Position(3, 3)},
+                new Position[]{new Position(0, 0), new Position(0, 2)},
+                new Position[]{new Position(4, 4)}));
+
+        SearchResult result = search.search(engine, 1000, 4);
+
+        assertEquals(BitBoard.packMove(1, PieceDirection.UP_LEFT.ordinal()), result.bestMove());
+        assertEquals(AlphaBetaSearch.WIN_SCORE - 1, result.score());
+        assertEquals(new Position(1, 1), engine.getPiecePosition(1));
+    }
+
+    @Test
+    void search_startingPosition() {
+        GameEngine engine = new GameEngine();
+        SearchResult result = search.search(engine, 200);
+
+        assertNotEquals(AlphaBetaSearch.NO_MOVE, result.bestMove());
+        assertTrue(engine.isValidMove(BitBoard.movePiece(result.bestMove()), BitBoard.moveDirection(result.bestMove())));
+        assertTrue(result.depth() > 0);
+        assertTrue(result.nodes() > 0);
+        assertTrue(result.elapsedNanos() < 2_000_000_000L);
+    }
+
+    @Test
+    void search_noMove() {
+        GameEngine engine = new GameEngine(
+                new ChessColor[]{ChessColor.RED, ChessColor.BLUE},
+                new Position[]{new Position(4, 0), new Position(3, 1)});
+
+        assertEquals(AlphaBetaSearch.NO_MOVE, search.search(engine, 100).bestMove());
+    }
+}
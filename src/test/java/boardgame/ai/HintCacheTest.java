@@ -0,0 +1,35 @@
+package boardgame.ai;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HintCacheTest {
+
+    @Test
+    void get() {
+        HintCache cache = new HintCache(4);
+        assertEquals(AlphaBetaSearch.NO_MOVE, cache.get(42));
+        cache.put(42, 7);
+        assertEquals(7, cache.get(42));
+    }
+
+    @Test
+    void put_evictsLeastRecentlyUsed() {
+        HintCache cache = new HintCache(2);
+        cache.put(1, 10);
+        cache.put(2, 20);
+        cache.get(1);
+        cache.put(3, 30);
+
+        assertEquals(2, cache.size());
+        assertEquals(10, cache.get(1));
+        assertEquals(AlphaBetaSearch.NO_MOVE, cache.get(2));
+        assertEquals(30, cache.get(3));
+    }
+
+    @Test
+    void constructor_invalidCapacity() {
+        assertThrows(IllegalArgumentException.class, () -> new HintCache(0));
+    }
+}
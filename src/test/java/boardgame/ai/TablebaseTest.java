@@ -0,0 +1,117 @@
+package boardgame.ai;
+
+import boardgame.model.BitBoard;
+import boardgame.model.ChessColor;
+import boardgame.model.GameEngine;
+import boardgame.model.GameVariant;
+import boardgame.model.PieceDirection;
+import boardgame.model.Position;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TablebaseTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void probe() throws IOException {
+        Path path = dir.resolve("tablebase.bgtb");
+        new TablebaseGenerator(5, 1, 2).generate(path, progress -> {
+        });
+        GameEngine engine = new GameEngine();
+        Position[] blue = {new Position(4, 0), new Position(4, 1), new Position(4, 2), new Position(4, 3),
+                new Position(4, 4), new Position(3, 0), new Position(2, 1)};
+        Position[] red = {new Position(0, 0), new Position(0, 1), new Position(0, 2), new Position(0, 3),
+                new Position(0, 4), new Position(1, 0), new Position(2, 3)};
+        for (int i = 0; i < 7; i++) {
+            engine.place(i, blue[i]);
+            engine.place(7 + i, red[i]);
+        }
+
+        try (Tablebase tablebase = Tablebase.open(path)) {
+            assertEquals(1, tablebase.probe(engine));
+            assertEquals(BitBoard.packMove(13, PieceDirection.UP_RIGHT.ordinal()), tablebase.bestMove(engine));
+            assertEquals(Tablebase.UNKNOWN, tablebase.probe(new GameEngine()));
+            assertEquals(AlphaBetaSearch.NO_MOVE, tablebase.bestMove(new GameEngine()));
+        }
+    }
+
+    @Test
+    void generate_agreesWithSearch() throws IOException {
+        Path path = dir.resolve("tablebase.bgtb");
+        new TablebaseGenerator(5, 1, 2).generate(path, progress -> {
+        });
+        TablebaseIndex index = new TablebaseIndex(5, 1);
+        AlphaBetaSearch search = new AlphaBetaSearch();
+        int checked = 0;
+        try (Tablebase tablebase = Tablebase.open(path)) {
+            for (int i = 0; i < index.positions() && checked < 200; i += 7) {
+                GameEngine engine = position(index.red(i), index.blue(i), index.side(i));
+                int value = tablebase.probe(engine);
+                if (value == Tablebase.UNKNOWN) {
+                    continue;
+                }
+                checked++;
+                int score = search.search(engine, 60_000, Math.abs(value)).score();
+                if (value > 0) {
+                    assertTrue(score >= AlphaBetaSearch.WIN_SCORE - value);
+                } else {
+                    assertTrue(score <= -AlphaBetaSearch.WIN_SCORE - value);
+                }
+            }
+        }
+        assertTrue(checked > 0);
+    }
+
+    @Test
+    void generate_resume() throws IOException {
+        Path path = dir.resolve("tablebase.bgtb");
+        assertThrows(IllegalStateException.class, () -> new TablebaseGenerator(5, 1, 2).generate(path, progress -> {
+            throw new IllegalStateException("interrupted");
+        }));
+        assertThrows(IOException.class, () -> Tablebase.open(path));
+
+        List<Integer> passes = new ArrayList<>();
+        new TablebaseGenerator(5, 1, 2).generate(path, progress -> passes.add(progress.pass()));
+        assertEquals(2, passes.get(0));
+
+        Path fresh = dir.resolve("fresh.bgtb");
+        new TablebaseGenerator(5, 1, 1).generate(fresh, progress -> {
+        });
+        assertArrayEquals(Files.readAllBytes(fresh), Files.readAllBytes(path));
+
+        passes.clear();
+        new TablebaseGenerator(5, 1, 2).generate(path, progress -> passes.add(progress.pass()));
+        assertTrue(passes.isEmpty());
+        assertThrows(IOException.class, () -> new TablebaseGenerator(5, 2, 2).generate(path, progress -> {
+        }));
+    }
+
+    private static GameEngine position(long red, long blue, ChessColor side) {
+        GameEngine engine = new GameEngine(GameVariant.STANDARD);
+        for (int i = 0; i < engine.getNumberOfPieces(); i++) {
+            boolean isRed = engine.getPieceColor(i) == ChessColor.RED;
+            long mask = isRed ? red : blue;
+            int square = Long.numberOfTrailingZeros(mask);
+            engine.place(i, new Position(square / 5, square % 5));
+            if (isRed) {
+                red &= red - 1;
+            } else {
+                blue &= blue - 1;
+            }
+        }
+        if (side == ChessColor.BLUE) {
+            engine.endTurn();
+        }
+        return engine;
+    }
+}
@@ -0,0 +1,63 @@
+package boardgame.ai;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TranspositionTableTest {
+
+    @Test
+    void storeAndProbe() {
+        TranspositionTable table = new TranspositionTable(16, TranspositionTable.ReplacementPolicy.ALWAYS);
+        table.store(42L, 5, -1234, 7, TranspositionTable.LOWER_BOUND);
+
+        long entry = table.probe(42L);
+        assertEquals(5, TranspositionTable.move(entry));
+        assertEquals(-1234, TranspositionTable.score(entry));
+        assertEquals(7, TranspositionTable.depth(entry));
+        assertEquals(TranspositionTable.LOWER_BOUND, TranspositionTable.bound(entry));
+        assertEquals(1, table.getHits());
+    }
+
+    @Test
+    void probe_missAndCollision() {
+        TranspositionTable table = new TranspositionTable(16, TranspositionTable.ReplacementPolicy.ALWAYS);
+        assertEquals(0, table.probe(1L));
+        assertEquals(1, table.getMisses());
+
+        table.store(1L, AlphaBetaSearch.NO_MOVE, 0, 1, TranspositionTable.EXACT);
+        assertEquals(AlphaBetaSearch.NO_MOVE, TranspositionTable.move(table.probe(1L)));
+        assertEquals(0, table.probe(1L + (1L << 40)));
+        assertEquals(1, table.getCollisions());
+    }
+
+    @Test
+    void store_depthPreferred() {
+        TranspositionTable table = new TranspositionTable(16, TranspositionTable.ReplacementPolicy.DEPTH_PREFERRED);
+        long other = 1L + (1L << 40);
+        table.store(1L, 0, 10, 5, TranspositionTable.EXACT);
+        table.store(other, 0, 20, 3, TranspositionTable.EXACT);
+        assertEquals(10, TranspositionTable.score(table.probe(1L)));
+
+        table.newSearch();
+        table.store(other, 0, 20, 3, TranspositionTable.EXACT);
+        assertEquals(20, TranspositionTable.score(table.probe(other)));
+    }
+
+    @Test
+    void store_always() {
+        TranspositionTable table = new TranspositionTable(16, TranspositionTable.ReplacementPolicy.ALWAYS);
+        long other = 1L + (1L << 40);
+        table.store(1L, 0, 10, 5, TranspositionTable.EXACT);
+        table.store(other, 0, 20, 3, TranspositionTable.EXACT);
+        assertEquals(0, table.probe(1L));
+        assertEquals(20, TranspositionTable.score(table.probe(other)));
+    }
+
+    @Test
+    void capacity() {
+        assertEquals(16, new TranspositionTable(20, TranspositionTable.ReplacementPolicy.ALWAYS).capacity());
+        assertThrows(IllegalArgumentException.class,
+                () -> new TranspositionTable(0, TranspositionTable.ReplacementPolicy.ALWAYS));
+    }
+}
@@ -0,0 +1,131 @@
+package boardgame.event;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameEventLogTest {
+
+    List<String> events;
+
+    GameEventLog log;
+
+    @BeforeEach
+    void init() {
+        events = new ArrayList<>();
+        log = new GameEventLog(64, List.of(event -> events.add(event.toString())));
+    }
+
+    @AfterEach
+    void close() throws InterruptedException {
+        log.close();
+    }
+
+    @Test
+    void log() {
+        assertTrue(log.log(GameEventType.MOVE, 3, 1, 2));
+        assertTrue(log.log(GameEventType.GAME_ARCHIVED, 12, 0, 0));
+        assertTrue(log.log(GameEventType.WIN, 2, 9, 0, "Bob"));
+        log.flush();
+
+        assertEquals(List.of("move piece=3 direction=1 steps=2", "game_archived moves=12", "win player=2 steps=9 Bob"),
+                events);
+    }
+
+    @Test
+    void setLevel() {
+        assertFalse(log.isEnabled(GameEventType.CLICK));
+        assertFalse(log.log(GameEventType.CLICK, 1, 2, 0));
+        log.setLevel(EventCategory.SELECTION, EventLevel.DEBUG);
+        log.setLevel(EventCategory.MOVE, EventLevel.OFF);
+        assertTrue(log.log(GameEventType.CLICK, 1, 2, 0));
+        assertFalse(log.log(GameEventType.MOVE, 3, 1, 2));
+        log.flush();
+
+        assertEquals(List.of("click row=1 col=2"), events);
+    }
+
+    @Test
+    void levelProperty() throws InterruptedException {
+        System.setProperty("boardgame.events.selection", "debug");
+        System.setProperty("boardgame.events.win", "verbose");
+        try (GameEventLog configured = new GameEventLog(4, List.of())) {
+            assertTrue(configured.isEnabled(GameEventType.CLICK));
+            assertTrue(configured.isEnabled(GameEventType.WIN));
+            assertTrue(configured.isEnabled(GameEventType.MOVE));
+        } finally {
+            System.clearProperty("boardgame.events.selection");
+            System.clearProperty("boardgame.events.win");
+        }
+    }
+
+    @Test
+    void log_afterIdle() throws InterruptedException {
+        assertTrue(log.log(GameEventType.MOVE, 1, 0, 0));
+        log.flush();
+        Thread.sleep(50);
+        assertTrue(log.log(GameEventType.MOVE, 2, 0, 0));
+        log.flush();
+
+        assertEquals(List.of("move piece=1 direction=0 steps=0", "move piece=2 direction=0 steps=0"), events);
+    }
+
+    @Test
+    void log_full() throws InterruptedException {
+        CountDownLatch blocked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        GameEventLog slow = new GameEventLog(4, List.of(event -> {
+            blocked.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }));
+        slow.log(GameEventType.MOVE, 0, 0, 0);
+        assertTrue(blocked.await(5, TimeUnit.SECONDS));
+        int queued = 0;
+        for (int i = 0; i < 10; i++) {
+            queued += slow.log(GameEventType.MOVE, i, 0, 0) ? 1 : 0;
+        }
+        release.countDown();
+        slow.close();
+
+        assertEquals(3, queued);
+        assertEquals(7, slow.getDropped());
+    }
+
+    @Test
+    void log_concurrent() throws InterruptedException {
+        GameEventLog large = new GameEventLog(1 << 16, List.of(event -> events.add(event.toString())));
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            int thread = t;
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < 1000; i++) {
+                    large.log(GameEventType.MOVE, thread, i, 0);
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        large.close();
+
+        assertEquals(4000, events.size());
+        int[] next = new int[threads.length];
+        for (String event : events) {
+            String[] fields = event.split("[ =]");
+            int thread = Integer.parseInt(fields[2]);
+            assertEquals(next[thread]++, Integer.parseInt(fields[4]));
+        }
+    }
+}
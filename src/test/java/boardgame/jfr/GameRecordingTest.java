@@ -0,0 +1,102 @@
+package boardgame.jfr;
+
+import boardgame.model.BoardGameModel;
+import boardgame.model.PersistenceService;
+import boardgame.model.PieceDirection;
+import boardgame.model.Player;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameRecordingTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void getConfiguration() throws Exception {
+        assertEquals("true", GameRecording.getConfiguration().getSettings().get("boardgame.Move#enabled"));
+    }
+
+    @Test
+    void record_model() throws Exception {
+        List<RecordedEvent> events;
+        try (Recording recording = new Recording(GameRecording.getConfiguration())) {
+            recording.start();
+            BoardGameModel model = new BoardGameModel();
+            model.getSelectableRed();
+            model.move(7, PieceDirection.UP_RIGHT);
+            model.isRedWins();
+            recording.stop();
+            events = read(recording);
+        }
+
+        RecordedEvent move = single(events, "boardgame.Move");
+        assertEquals(7, move.getInt("piece"));
+        assertEquals("UP_RIGHT", move.getString("direction"));
+        assertEquals("PLAYER1", move.getString("player"));
+        assertTrue(move.getBoolean("legal"));
+        RecordedEvent generation = single(events, "boardgame.MoveGeneration");
+        assertEquals("RED", generation.getString("color"));
+        assertEquals(7, generation.getInt("count"));
+        assertFalse(single(events, "boardgame.WinCheck").getBoolean("winner"));
+    }
+
+    @Test
+    void record_database() throws Exception {
+        List<RecordedEvent> events;
+        try (Recording recording = new Recording(GameRecording.getConfiguration());
+             PersistenceService service = new PersistenceService("jdbc:h2:mem:recording-test")) {
+            recording.start();
+            service.getPlayerDao().recordGame(List.of(new Player("Alice", 12, 100), new Player("Bob", 10, 0)));
+            service.getPlayerDao().listPlayers();
+            recording.stop();
+            events = read(recording);
+        }
+
+        assertEquals(1, single(events, "boardgame.Database", "insertGame").getInt("rowsAffected"));
+        assertEquals(-1, single(events, "boardgame.Database", "listPlayers").getInt("rowsAffected"));
+        assertTrue(events.stream().noneMatch(event -> event.getBoolean("failed")));
+    }
+
+    @Test
+    void disabledByDefault() throws Exception {
+        try (Recording recording = new Recording()) {
+            recording.start();
+            new BoardGameModel().move(7, PieceDirection.UP_RIGHT);
+            recording.stop();
+            assertTrue(read(recording).isEmpty());
+        }
+    }
+
+    private List<RecordedEvent> read(Recording recording) throws Exception {
+        Path file = directory.resolve("recording.jfr");
+        recording.dump(file);
+        return RecordingFile.readAllEvents(file).stream()
+                .filter(event -> event.getEventType().getName().startsWith("boardgame."))
+                .collect(Collectors.toList());
+    }
+
+    private static RecordedEvent single(List<RecordedEvent> events, String name) {
+        List<RecordedEvent> matching = events.stream()
+                .filter(event -> event.getEventType().getName().equals(name))
+                .collect(Collectors.toList());
+        assertEquals(1, matching.size(), name);
+        return matching.get(0);
+    }
+
+    private static RecordedEvent single(List<RecordedEvent> events, String name, String method) {
+        return single(events.stream()
+                .filter(event -> !event.getEventType().getName().equals("boardgame.Database")
+                        || method.equals(event.getString("method")))
+                .collect(Collectors.toList()), name);
+    }
+}
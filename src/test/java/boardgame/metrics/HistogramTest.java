@@ -0,0 +1,57 @@
+package boardgame.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HistogramTest {
+
+    @Test
+    void bucket() {
+        for (long value = 0; value < 1 << 20; value++) {
+            int bucket = Histogram.bucket(value);
+            assertTrue(Histogram.lowestValue(bucket) <= value);
+            assertTrue(Histogram.lowestValue(bucket + 1) > value);
+        }
+        int last = Histogram.bucket(Long.MAX_VALUE);
+        assertTrue(Histogram.lowestValue(last) <= Long.MAX_VALUE);
+        assertEquals(Long.MAX_VALUE, Histogram.lowestValue(last + 1));
+    }
+
+    @Test
+    void getPercentile() {
+        Histogram histogram = new Histogram();
+        for (int value = 1; value <= 100_000; value++) {
+            histogram.record(value);
+        }
+        assertEquals(100_000, histogram.getCount());
+        assertEquals(100_000, histogram.getMax());
+        assertEquals(50_000.5, histogram.getMean(), 1e-9);
+        assertEquals(50_000, histogram.getPercentile(50), 50_000 * 0.04);
+        assertEquals(99_000, histogram.getPercentile(99), 99_000 * 0.04);
+        assertEquals(100_000, histogram.getPercentile(100));
+    }
+
+    @Test
+    void getPercentile_random() {
+        Histogram histogram = new Histogram();
+        Random random = new Random(42);
+        long[] values = new long[10_000];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = (long) Math.exp(random.nextDouble() * 20);
+            histogram.record(values[i]);
+        }
+        java.util.Arrays.sort(values);
+        long p90 = values[(int) Math.ceil(0.9 * values.length) - 1];
+        long estimate = histogram.getPercentile(90);
+        assertTrue(estimate >= p90);
+        assertTrue(estimate <= p90 * 1.04);
+    }
+
+    @Test
+    void snapshot_empty() {
+        assertEquals(new HistogramSnapshot(0, 0, 0, 0, 0, 0), new Histogram().snapshot());
+    }
+}
@@ -0,0 +1,80 @@
+package boardgame.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MetricsRegistryTest {
+
+    @Test
+    void counter() {
+        MetricsRegistry registry = new MetricsRegistry();
+        registry.counter("test.counter").increment();
+        registry.counter("test.counter").add(2);
+        assertSame(registry.counter("test.counter"), registry.counter("test.counter"));
+        assertEquals(3, registry.counter("test.counter").get());
+    }
+
+    @Test
+    void snapshot() {
+        MetricsRegistry registry = new MetricsRegistry();
+        registry.counter("moves").add(10);
+        registry.gauge("queue", () -> 7);
+        registry.histogram("latency").record(20);
+        MetricsSnapshot snapshot = registry.snapshot();
+
+        assertEquals(Map.of("moves", 10L), snapshot.counters());
+        assertEquals(Map.of("queue", 7L), snapshot.gauges());
+        assertEquals(1, snapshot.histograms().get("latency").count());
+        assertEquals(20, snapshot.histograms().get("latency").p99());
+    }
+
+    @Test
+    void removeGauge() {
+        MetricsRegistry registry = new MetricsRegistry();
+        LongSupplier old = () -> 1;
+        LongSupplier current = () -> 2;
+        registry.gauge("sessions", old);
+        registry.gauge("sessions", current);
+
+        registry.removeGauge("sessions", old);
+        assertEquals(Map.of("sessions", 2L), registry.snapshot().gauges());
+        registry.removeGauge("sessions", current);
+        assertEquals(Map.of(), registry.snapshot().gauges());
+    }
+
+    @Test
+    void toJson() {
+        MetricsSnapshot previous = new MetricsSnapshot(1_000, Map.of("moves", 10L), Map.of(), Map.of());
+        MetricsSnapshot snapshot = new MetricsSnapshot(3_000, Map.of("moves", 30L), Map.of("queue", 7L),
+                Map.of("latency", new HistogramSnapshot(4, 2.5, 2, 4, 4, 4)));
+
+        assertEquals("{\"time\":3000,\"counters\":{\"moves\":{\"count\":30,\"rate\":10.00}},"
+                        + "\"gauges\":{\"queue\":7},\"histograms\":{\"latency\":{\"count\":4,\"rate\":2.00,"
+                        + "\"mean\":2.5,\"p50\":2,\"p90\":4,\"p99\":4,\"max\":4}}}",
+                snapshot.toJson(previous));
+        assertTrue(snapshot.toText(null).startsWith("moves count=30\nqueue value=7\nlatency count=4 mean=2.5"));
+    }
+
+    @Test
+    void registerMBean() throws Exception {
+        MetricsRegistry registry = MetricsRegistry.get();
+        registry.registerMBean();
+        registry.registerMBean();
+        registry.counter("test.mbean").add(5);
+        registry.histogram("test.mbean.latency").record(3);
+
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName name = new ObjectName(MetricsRegistry.OBJECT_NAME);
+        assertEquals(5L, server.getAttribute(name, "test.mbean"));
+        assertEquals(1L, server.getAttribute(name, "test.mbean.latency.count"));
+        assertTrue(java.util.Arrays.stream(server.getMBeanInfo(name).getAttributes())
+                .anyMatch(attribute -> attribute.getName().equals("test.mbean.latency.p99")));
+    }
+}
@@ -0,0 +1,126 @@
+package boardgame.model;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BitBoardTest {
+
+    BitBoard bitBoard;
+
+    int square(int row, int col) {
+        return bitBoard.getGeometry().square(new Position(row, col));
+    }
+
+    @BeforeEach
+    void init() {
+        bitBoard = new BitBoard(new GameVariant("test", 5,
+                new ChessColor[]{ChessColor.BLUE, ChessColor.BLUE, ChessColor.RED},
+                new Position[]{new Position(0, 0), new Position(1, 1), new Position(4, 4)},
+                new Position[]{new Position(3, 3)},
+                new Position[]{new Position(0, 0), new Position(2, 2)}));
+    }
+
+    @Test
+    void isGoal() {
+        assertTrue(bitBoard.isGoal(ChessColor.RED, square(3, 3)));
+        assertFalse(bitBoard.isGoal(ChessColor.RED, square(0, 0)));
+        assertTrue(bitBoard.isGoal(ChessColor.BLUE, square(2, 2)));
+    }
+
+    @Test
+    void validMoveMask() {
+        assertEquals(0, bitBoard.validMoveMask(0));
+        assertFalse(bitBoard.canMove(0));
+        assertEquals(1 << PieceDirection.UP_RIGHT.ordinal()
+                | 1 << PieceDirection.DOWN_LEFT.ordinal()
+                | 1 << PieceDirection.DOWN_RIGHT.ordinal(), bitBoard.validMoveMask(1));
+        assertTrue(bitBoard.canMove(1));
+        assertEquals(1 << PieceDirection.UP_LEFT.ordinal(), bitBoard.validMoveMask(2));
+    }
+
+    @Test
+    void move() {
+        bitBoard.move(2, PieceDirection.UP_LEFT.ordinal());
+        assertEquals(square(3, 3), bitBoard.getSquare(2));
+        assertEquals(2, bitBoard.getPieceAt(square(3, 3)));
+        assertTrue(bitBoard.isValidMove(1, PieceDirection.DOWN_RIGHT.ordinal()));
+        assertFalse(bitBoard.isValidMove(0, PieceDirection.DOWN_RIGHT.ordinal()));
+    }
+
+    @Test
+    void getPieceAt() {
+        assertEquals(0, bitBoard.getPieceAt(0));
+        assertEquals(1, bitBoard.getPieceAt(6));
+        assertEquals(BitBoard.EMPTY, bitBoard.getPieceAt(12));
+        bitBoard.move(2, PieceDirection.UP_LEFT.ordinal());
+        assertEquals(BitBoard.EMPTY, bitBoard.getPieceAt(24));
+        assertEquals(2, bitBoard.getPieceAt(18));
+        assertEquals(2, new BitBoard(bitBoard).getPieceAt(18));
+    }
+
+    @Test
+    void place() {
+        bitBoard.place(2, new Position(5, 5));
+        assertEquals(BitBoard.OFF_BOARD, bitBoard.getSquare(2));
+        assertTrue(bitBoard.isWinner(ChessColor.RED));
+        assertEquals(0, bitBoard.validMoveMask(2));
+        assertEquals(BitBoard.EMPTY, bitBoard.getPieceAt(24));
+
+        bitBoard.place(1, new Position(0, 0));
+        assertEquals(0, bitBoard.getPieceAt(0));
+        assertEquals(BitBoard.EMPTY, bitBoard.getPieceAt(6));
+    }
+
+    @Test
+    void isWinner() {
+        assertFalse(bitBoard.isWinner(ChessColor.RED));
+        bitBoard.move(2, PieceDirection.UP_LEFT.ordinal());
+        assertTrue(bitBoard.isWinner(ChessColor.RED));
+        assertFalse(bitBoard.isWinner(ChessColor.BLUE));
+    }
+
+    @Test
+    void getPiecesOnGoal() {
+        assertEquals(1, bitBoard.getPiecesOnGoal(ChessColor.BLUE));
+        bitBoard.move(1, PieceDirection.DOWN_RIGHT.ordinal());
+        assertEquals(2, bitBoard.getPiecesOnGoal(ChessColor.BLUE));
+        assertTrue(bitBoard.isWinner(ChessColor.BLUE));
+        BitBoard copy = new BitBoard(bitBoard);
+        copy.move(0, PieceDirection.DOWN_RIGHT.ordinal());
+        assertEquals(1, copy.getPiecesOnGoal(ChessColor.BLUE));
+        assertFalse(copy.isWinner(ChessColor.BLUE));
+        assertEquals(2, bitBoard.getPiecesOnGoal(ChessColor.BLUE));
+        copy.place(0, new Position(0, 0));
+        assertEquals(2, copy.getPiecesOnGoal(ChessColor.BLUE));
+        bitBoard.unmove(1, PieceDirection.DOWN_RIGHT.ordinal());
+        assertEquals(1, bitBoard.getPiecesOnGoal(ChessColor.BLUE));
+        assertFalse(bitBoard.isWinner(ChessColor.BLUE));
+    }
+
+    @Test
+    void getMask() {
+        assertEquals(1L << square(0, 0) | 1L << square(1, 1), bitBoard.getMask(ChessColor.BLUE, 0));
+        assertEquals(1L << square(4, 4), bitBoard.getMask(ChessColor.RED, 0));
+        bitBoard.move(2, PieceDirection.UP_LEFT.ordinal());
+        assertEquals(1L << square(3, 3), bitBoard.getMask(ChessColor.RED, 0));
+        assertEquals(1L << square(0, 0) | 1L << square(1, 1) | 1L << square(3, 3), bitBoard.getOccupied(0));
+    }
+
+    @Test
+    void largeBoard() {
+        bitBoard = new BitBoard(GameVariant.standard(9));
+        assertEquals(2, bitBoard.getGeometry().getWords());
+        int piece = bitBoard.getPieceAt(square(7, 0));
+        assertEquals(ChessColor.RED, bitBoard.getColor(piece));
+        assertEquals(1 << PieceDirection.UP_RIGHT.ordinal(), bitBoard.validMoveMask(piece));
+        assertTrue(bitBoard.isValidMove(piece, PieceDirection.UP_RIGHT.ordinal()));
+        bitBoard.move(piece, PieceDirection.UP_RIGHT.ordinal());
+        assertEquals(piece, bitBoard.getPieceAt(square(6, 1)));
+        assertTrue((bitBoard.getOccupied(square(6, 1) >>> 6) & 1L << square(6, 1)) != 0);
+        assertFalse((bitBoard.getOccupied(square(7, 0) >>> 6) & 1L << square(7, 0)) != 0);
+        assertFalse(bitBoard.isWinner(ChessColor.RED));
+        assertEquals(0, bitBoard.getPiecesOnGoal(ChessColor.RED));
+    }
+}
@@ -1,8 +1,11 @@
 package boardgame.model;
 
+import boardgame.metrics.Histogram;
+import boardgame.metrics.MetricsRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.lang.management.ManagementFactory;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
@@ -133,6 +136,64 @@ class BoardGameModelTest {
         assertEquals(-1, model.getPieceNumber(new Position(1,3)));
     }
 
+    @Test
+    void getMoveLog() {
+        BoardGameModel game = new BoardGameModel();
+        int[] moves = new int[BitBoard.MAX_MOVES];
+        game.generateMoves(ChessColor.RED, moves);
+        int move = moves[0];
+        game.move(BitBoard.movePiece(move), PieceDirection.values()[BitBoard.moveDirection(move)]);
+
+        assertEquals(1, game.getMoveLog().size());
+        assertEquals(move, game.getMoveLog().get(0));
+    }
+
+    @Test
+    void undoRedo() {
+        BoardGameModel game = new BoardGameModel();
+        assertFalse(game.undo());
+        game.move(7, PieceDirection.UP_RIGHT);
+        game.move(0, PieceDirection.DOWN_RIGHT);
+
+        assertTrue(game.undo());
+        assertEquals(new Position(0, 0), game.getPiecePosition(0));
+        assertEquals(0, game.getCountStepPlayer2());
+        assertEquals(BoardGameModel.Player.PLAYER2, game.currentPlayer.get());
+        assertTrue(game.redoableProperty().get());
+
+        assertTrue(game.redo());
+        assertEquals(new Position(1, 1), game.getPiecePosition(0));
+        assertEquals(1, game.getCountStepPlayer2());
+        assertFalse(game.redo());
+
+        game.undo();
+        game.undo();
+        assertFalse(game.undoableProperty().get());
+        assertEquals(new Position(4, 0), game.getPiecePosition(7));
+        assertEquals(BoardGameModel.Player.PLAYER1, game.currentPlayer.get());
+        assertEquals(0, game.getMoveLog().size());
+
+        game.move(8, PieceDirection.UP_LEFT);
+        assertFalse(game.redoableProperty().get());
+    }
+
+    @Test
+    void undo_afterWin() {
+        BoardGameModel game = new BoardGameModel(new GameEngine(new GameVariant("test", 5,
+                new ChessColor[]{ChessColor.BLUE, ChessColor.RED}, new Position[]{new Position(2, 2), new Position(1, 1)},
+                new Position[]{new Position(0, 0)}, new Position[]{new Position(4, 4)})));
+        game.createPlayers();
+        game.move(1, PieceDirection.UP_LEFT);
+        assertTrue(game.isRedWins());
+        game.recordWin(ChessColor.RED);
+
+        assertFalse(game.undoableProperty().get());
+        assertFalse(game.undo());
+        assertEquals(new Position(0, 0), game.getPiecePosition(1));
+        assertTrue(game.isRedWins());
+        assertEquals(100, game.getPlayer1().getScore());
+    }
+
     @Test
     void getPiecePositions() {
         List<Position> positions = new ArrayList<>();
@@ -183,6 +244,15 @@ class BoardGameModelTest {
         assertFalse(model.isBlueWins());
     }
 
+    @Test
+    void recordWin() {
+        model.createPlayers();
+        model.recordWin(ChessColor.BLUE);
+        model.recordWin(ChessColor.BLUE);
+        assertEquals(100, model.getPlayer2().getScore());
+        assertEquals(0, model.getPlayer1().getScore());
+    }
+
     @Test
     void getSelectableRed() {
         List<Position> list = new ArrayList<>();
@@ -210,4 +280,76 @@ class BoardGameModelTest {
 
         assertEquals(list, model.getSelectableBlue());
     }
-}
\ No newline at end of file
+
+    @Test
+    void getValidMoveMask() {
+        assertEquals(1 << PieceDirection.DOWN_RIGHT.ordinal(), model.getValidMoveMask(0));
+        assertEquals(1 << PieceDirection.DOWN_LEFT.ordinal() | 1 << PieceDirection.DOWN_RIGHT.ordinal(),
+                model.getValidMoveMask(2));
+        assertThrows(IllegalArgumentException.class, () -> model.getValidMoveMask(14));
+    }
+
+    @Test
+    void generateMoves() {
+        int[] buffer = new int[BitBoard.MAX_MOVES];
+        int count = model.generateMoves(ChessColor.RED, buffer);
+        assertEquals(8, count);
+        for (int i = 0; i < count; i++) {
+            int pieceNumber = BitBoard.movePiece(buffer[i]);
+            assertEquals(ChessColor.RED, model.getPieceColor(pieceNumber));
+            assertTrue(model.getValidMoves(pieceNumber).contains(PieceDirection.values()[BitBoard.moveDirection(buffer[i])]));
+        }
+    }
+
+    @Test
+    void moveGenerationMetrics() {
+        Histogram selectable = MetricsRegistry.get().histogram("model.selectable");
+        Histogram validMoves = MetricsRegistry.get().histogram("model.validMoves");
+        Histogram generateMoves = MetricsRegistry.get().histogram("model.generateMoves");
+        long selectableCount = selectable.getCount();
+        long validMovesCount = validMoves.getCount();
+        long generateMovesCount = generateMoves.getCount();
+
+        model.getSelectableRed();
+        model.getValidMoves(7);
+        model.getValidMoves(8);
+        model.generateMoves(ChessColor.RED, new int[BitBoard.MAX_MOVES]);
+
+        assertEquals(selectableCount + 1, selectable.getCount());
+        assertEquals(validMovesCount + 2, validMoves.getCount());
+        assertEquals(generateMovesCount + 1, generateMoves.getCount());
+    }
+
+    @Test
+    void getSelectableMask() {
+        assertEquals(0b1111111L, model.getSelectableMask(ChessColor.BLUE));
+        assertEquals(0b1111111L << 7, model.getSelectableMask(ChessColor.RED));
+    }
+
+    @Test
+    void generateMoves_doesNotAllocate() {
+        var threadBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        int[] buffer = new int[BitBoard.MAX_MOVES];
+        long sink = 0;
+        for (int i = 0; i < 100_000; i++) {
+            sink += generateAll(buffer);
+        }
+        long before = threadBean.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < 100_000; i++) {
+            sink += generateAll(buffer);
+        }
+        long allocated = threadBean.getThreadAllocatedBytes(threadId) - before;
+        assertTrue(sink > 0);
+        assertTrue(allocated < 1024, "allocated " + allocated + " bytes");
+    }
+
+    private long generateAll(int[] buffer) {
+        long result = model.generateMoves(ChessColor.RED, buffer) + model.generateMoves(ChessColor.BLUE, buffer);
+        result += model.getSelectableMask(ChessColor.RED) + model.getSelectableMask(ChessColor.BLUE);
+        for (int i = 0; i < model.getNumberOfPieces(); i++) {
+            result += model.getValidMoveMask(i);
+        }
+        return result;
+    }
+}
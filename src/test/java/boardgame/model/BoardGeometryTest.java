@@ -0,0 +1,42 @@
+package boardgame.model;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoardGeometryTest {
+
+    BoardGeometry geometry = BoardGeometry.of(5);
+
+    @Test
+    void of() {
+        assertSame(geometry, BoardGeometry.of(5));
+        assertEquals(81, BoardGeometry.of(9).getSquares());
+        assertThrows(IllegalArgumentException.class, () -> BoardGeometry.of(BoardGeometry.MAX_SIZE + 1));
+    }
+
+    @Test
+    void square() {
+        assertEquals(0, geometry.square(new Position(0, 0)));
+        assertEquals(7, geometry.square(new Position(1, 2)));
+        assertEquals(24, geometry.square(new Position(4, 4)));
+        assertEquals(BitBoard.OFF_BOARD, geometry.square(new Position(5, 0)));
+        assertEquals(BitBoard.OFF_BOARD, geometry.square(new Position(0, -1)));
+        assertEquals(45, BoardGeometry.of(9).square(new Position(5, 0)));
+    }
+
+    @Test
+    void position() {
+        assertEquals(new Position(1, 2), geometry.position(7));
+        assertSame(geometry.position(7), geometry.position(7));
+    }
+
+    @Test
+    void neighbor() {
+        assertEquals(6, geometry.neighbor(0, PieceDirection.DOWN_RIGHT.ordinal()));
+        assertEquals(BitBoard.OFF_BOARD, geometry.neighbor(0, PieceDirection.DOWN_LEFT.ordinal()));
+        assertEquals(BitBoard.OFF_BOARD, geometry.neighbor(4, PieceDirection.UP_LEFT.ordinal()));
+        assertEquals(18, geometry.neighbor(24, PieceDirection.UP_LEFT.ordinal()));
+        assertEquals(BitBoard.OFF_BOARD, BoardGeometry.of(7).neighbor(48, PieceDirection.DOWN_LEFT.ordinal()));
+    }
+}
@@ -0,0 +1,131 @@
+package boardgame.model;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameEngineTest {
+
+    GameEngine engine;
+
+    @BeforeEach
+    void init() {
+        engine = new GameEngine();
+    }
+
+    @Test
+    void startingLayout() {
+        assertEquals(14, engine.getNumberOfPieces());
+        assertEquals(ChessColor.BLUE, engine.getPieceColor(0));
+        assertEquals(new Position(0, 0), engine.getPiecePosition(0));
+        assertEquals(ChessColor.RED, engine.getPieceColor(13));
+        assertEquals(new Position(3, 4), engine.getPiecePosition(13));
+        assertEquals(ChessColor.RED, engine.getSideToMove());
+    }
+
+    @Test
+    void largerVariant() {
+        GameEngine large = new GameEngine(GameVariant.standard(9));
+        assertEquals(22, large.getNumberOfPieces());
+        assertEquals(new Position(8, 8), large.getPiecePosition(19));
+        assertEquals(19, large.getPieceNumber(new Position(8, 8)));
+        int[] buffer = new int[BitBoard.MAX_MOVES];
+        assertEquals(16, large.generateMoves(buffer));
+        large.move(20, PieceDirection.UP_RIGHT.ordinal());
+        assertEquals(new Position(6, 1), large.getPiecePosition(20));
+        assertFalse(large.isWinner(ChessColor.RED));
+    }
+
+    @Test
+    void constructor_outsideBoard() {
+        assertThrows(IllegalArgumentException.class, () -> new GameEngine(
+                new ChessColor[]{ChessColor.RED}, new Position[]{new Position(5, 0)}));
+    }
+
+    @Test
+    void move() {
+        engine.move(7, PieceDirection.UP_RIGHT.ordinal());
+        assertEquals(new Position(3, 1), engine.getPiecePosition(7));
+        assertEquals(7, engine.getPieceNumber(new Position(3, 1)));
+        assertEquals(-1, engine.getPieceNumber(new Position(4, 0)));
+        assertEquals(1, engine.getSteps(ChessColor.RED));
+        assertEquals(0, engine.getSteps(ChessColor.BLUE));
+        assertEquals(ChessColor.BLUE, engine.getSideToMove());
+    }
+
+    @Test
+    void unmove() {
+        long hash = engine.getHash();
+        int[] buffer = new int[BitBoard.MAX_MOVES];
+        int[] played = new int[20];
+        for (int i = 0; i < played.length; i++) {
+            int count = engine.generateMoves(buffer);
+            played[i] = buffer[(i * 5) % count];
+            engine.move(BitBoard.movePiece(played[i]), BitBoard.moveDirection(played[i]));
+        }
+        for (int i = played.length - 1; i >= 0; i--) {
+            engine.unmove(BitBoard.movePiece(played[i]), BitBoard.moveDirection(played[i]));
+        }
+        assertEquals(hash, engine.getHash());
+        assertEquals(new Position(4, 0), engine.getPiecePosition(7));
+        assertEquals(0, engine.getSteps(ChessColor.RED));
+        assertEquals(0, engine.getSteps(ChessColor.BLUE));
+        assertEquals(ChessColor.RED, engine.getSideToMove());
+        assertEquals(0, engine.getBoard().getPiecesOnGoal(ChessColor.RED));
+        assertEquals(8, engine.generateMoves(buffer));
+    }
+
+    @Test
+    void generateMoves() {
+        int[] buffer = new int[BitBoard.MAX_MOVES];
+        assertEquals(8, engine.generateMoves(buffer));
+        for (int i = 0; i < 8; i++) {
+            assertEquals(ChessColor.RED, engine.getPieceColor(BitBoard.movePiece(buffer[i])));
+        }
+    }
+
+    @Test
+    void copy() {
+        GameEngine copy = new GameEngine(engine);
+        copy.move(7, PieceDirection.UP_RIGHT.ordinal());
+        assertEquals(new Position(4, 0), engine.getPiecePosition(7));
+        assertEquals(ChessColor.RED, engine.getSideToMove());
+        assertEquals(new Position(3, 1), copy.getPiecePosition(7));
+    }
+
+    @Test
+    void isWinner() {
+        assertFalse(engine.isWinner(ChessColor.RED));
+        assertFalse(engine.isWinner(ChessColor.BLUE));
+        GameEngine finished = new GameEngine(new GameVariant("test", 5,
+                new ChessColor[]{ChessColor.RED}, new Position[]{new Position(0, 0)},
+                new Position[]{new Position(0, 0)}, new Position[0]));
+        assertTrue(finished.isWinner(ChessColor.RED));
+    }
+
+    @Test
+    void getHash() {
+        long start = engine.getHash();
+        GameEngine other = new GameEngine();
+        assertEquals(start, other.getHash());
+
+        engine.move(7, PieceDirection.UP_RIGHT.ordinal());
+        engine.move(0, PieceDirection.DOWN_RIGHT.ordinal());
+        other.move(0, PieceDirection.DOWN_RIGHT.ordinal());
+        other.move(7, PieceDirection.UP_RIGHT.ordinal());
+        assertEquals(engine.getHash(), other.getHash());
+        assertNotEquals(start, engine.getHash());
+
+        engine.move(7, PieceDirection.DOWN_LEFT.ordinal());
+        engine.move(0, PieceDirection.UP_LEFT.ordinal());
+        assertEquals(start, engine.getHash());
+
+        GameEngine placed = new GameEngine(other);
+        placed.place(0, new Position(0, 0));
+        placed.place(7, new Position(4, 0));
+        assertEquals(start, placed.getHash());
+        placed.endTurn();
+        assertNotEquals(start, placed.getHash());
+    }
+}
@@ -0,0 +1,41 @@
+package boardgame.model;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameVariantTest {
+
+    @Test
+    void standard() {
+        GameVariant variant = GameVariant.STANDARD;
+        assertEquals("5x5", variant.getName());
+        assertEquals(14, variant.getNumberOfPieces());
+        assertEquals(ChessColor.BLUE, variant.getColor(6));
+        assertEquals(new Position(1, 4), variant.getStartPosition(6));
+        assertEquals(ChessColor.RED, variant.getColor(7));
+        assertEquals(new Position(4, 0), variant.getStartPosition(7));
+        assertTrue(variant.isGoal(ChessColor.RED, 0));
+        assertFalse(variant.isGoal(ChessColor.RED, 24));
+        assertTrue(variant.isGoal(ChessColor.BLUE, 24));
+    }
+
+    @Test
+    void standard_largerBoard() {
+        GameVariant variant = GameVariant.standard(7);
+        assertEquals(7, variant.getSize());
+        assertEquals(18, variant.getNumberOfPieces());
+        assertSame(BoardGeometry.of(7), variant.getGeometry());
+        assertTrue(variant.isGoal(ChessColor.RED, variant.getGeometry().square(new Position(1, 6))));
+        assertThrows(IllegalArgumentException.class, () -> GameVariant.standard(3));
+    }
+
+    @Test
+    void constructor_invalid() {
+        assertThrows(IllegalArgumentException.class, () -> new GameVariant("test", 5,
+                new ChessColor[]{ChessColor.RED}, new Position[]{new Position(5, 0)},
+                new Position[0], new Position[0]));
+        assertThrows(IllegalArgumentException.class, () -> new GameVariant("test", 5,
+                new ChessColor[]{ChessColor.RED}, new Position[0], new Position[0], new Position[0]));
+    }
+}
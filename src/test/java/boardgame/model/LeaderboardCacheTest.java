@@ -0,0 +1,106 @@
+package boardgame.model;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LeaderboardCacheTest {
+
+    PersistenceService service;
+
+    PlayerDao dao;
+
+    LeaderboardCache cache;
+
+    @BeforeEach
+    void init() {
+        service = new PersistenceService("jdbc:h2:mem:leaderboard-cache-test");
+        dao = service.getPlayerDao();
+        dao.recordGame(List.of(new Player("Alice", 12, 100), new Player("Bob", 10, 0)));
+        cache = new LeaderboardCache(dao);
+        cache.warm();
+    }
+
+    @AfterEach
+    void close() {
+        service.close();
+    }
+
+    @Test
+    void apply() {
+        List<List<Player>> games = List.of(
+                List.of(new Player("Carol", 9, 100), new Player("Bob", 8, 0)),
+                List.of(new Player("Bob", 14, 100), new Player("Dave", 11, 0)));
+        dao.recordGames(games);
+        cache.apply(games);
+
+        assertEquals(dao.listPlayers(), cache.getTop(10));
+        assertEquals(List.of(new Player("Bob", 8, 100), new Player("Carol", 9, 100)), cache.getTop(2));
+        assertEquals(4, cache.size());
+    }
+
+    @Test
+    void record() {
+        List<List<Player>> games = List.of(List.of(new Player("Alice", 9, 100), new Player("Carol", 11, 0)));
+        cache.record(games, () -> dao.recordGames(games));
+
+        assertEquals(dao.listPlayers(), cache.getTop(10));
+    }
+
+    @Test
+    void record_loadDuringWrite() throws InterruptedException {
+        List<List<Player>> games = List.of(List.of(new Player("Alice", 9, 100), new Player("Carol", 11, 0)));
+        Thread reload = new Thread(() -> {
+            cache.invalidate();
+            cache.getTop(10);
+        });
+        cache.record(games, () -> {
+            dao.recordGames(games);
+            reload.start();
+            try {
+                reload.join(5000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            assertFalse(reload.isAlive());
+        });
+
+        assertEquals(dao.listPlayers(), cache.getTop(10));
+        assertEquals(new Player("Alice", 9, 200), cache.getTop(1).get(0));
+    }
+
+    @Test
+    void getAfter() {
+        dao.recordGame(List.of(new Player("Carol", 9, 100), new Player("Dave", 11, 0)));
+        cache.invalidate();
+
+        List<Player> first = cache.getTop(2);
+        assertEquals(List.of(new Player("Carol", 9, 100), new Player("Alice", 12, 100)), first);
+        assertEquals(List.of(new Player("Bob", 10, 0), new Player("Dave", 11, 0)), cache.getAfter(first.get(1), 2));
+        assertEquals(dao.listPlayersAfter(first.get(1), 2), cache.getAfter(first.get(1), 2));
+    }
+
+    @Test
+    void getAfter_invalid() {
+        dao.recordGame(List.of(new Player("Carol", 9, 100), new Player("Dave", 11, 0)));
+        cache.invalidate();
+
+        assertEquals(List.of(new Player("Bob", 10, 0), new Player("Dave", 11, 0)),
+                cache.getAfter(new Player("Alice", 12, 100), 2));
+    }
+
+    @Test
+    void invalidate() {
+        dao.recordGame(List.of(new Player("Carol", 9, 100)));
+        assertEquals(2, cache.size());
+
+        cache.invalidate();
+
+        assertEquals(3, cache.size());
+        assertEquals(new Player("Carol", 9, 100), cache.getTop(1).get(0));
+    }
+}
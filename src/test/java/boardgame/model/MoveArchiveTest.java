@@ -0,0 +1,118 @@
+package boardgame.model;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MoveArchiveTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void replay() throws IOException {
+        Path path = dir.resolve("games.bgml");
+        List<GameEngine> played = new ArrayList<>();
+        try (MoveArchive archive = new MoveArchive(path)) {
+            played.add(play(archive, 5, 20));
+            played.add(play(archive, 7, 35));
+            played.add(play(archive, 5, 0));
+        }
+
+        List<GameEngine> replayed = new ArrayList<>();
+        try (MoveArchiveReader reader = new MoveArchiveReader(path, 64)) {
+            assertEquals(3, reader.replay(replayed::add));
+        }
+
+        assertEquals(played.size(), replayed.size());
+        for (int i = 0; i < played.size(); i++) {
+            assertEquals(played.get(i).getHash(), replayed.get(i).getHash());
+            assertEquals(played.get(i).getSteps(ChessColor.RED), replayed.get(i).getSteps(ChessColor.RED));
+            assertEquals(played.get(i).getVariant().getSize(), replayed.get(i).getVariant().getSize());
+        }
+    }
+
+    @Test
+    void replay_truncated() throws IOException {
+        Path path = dir.resolve("games.bgml");
+        GameEngine first;
+        try (MoveArchive archive = new MoveArchive(path)) {
+            first = play(archive, 5, 10);
+            play(archive, 5, 10);
+        }
+        byte[] bytes = Files.readAllBytes(path);
+        Files.write(path, Arrays.copyOf(bytes, bytes.length - 1));
+
+        List<GameEngine> replayed = new ArrayList<>();
+        try (MoveArchiveReader reader = new MoveArchiveReader(path)) {
+            assertEquals(1, reader.replay(replayed::add));
+        }
+        assertEquals(first.getHash(), replayed.get(0).getHash());
+    }
+
+    @Test
+    void replay_longerThanWindow() throws IOException {
+        Path path = dir.resolve("games.bgml");
+        try (MoveArchive archive = new MoveArchive(path)) {
+            play(archive, 5, 20);
+            play(archive, 5, 20);
+        }
+
+        try (MoveArchiveReader reader = new MoveArchiveReader(path, 8)) {
+            assertThrows(IOException.class, () -> reader.replay(engine -> {
+            }));
+        }
+    }
+
+    @Test
+    void appendAsync() throws Exception {
+        Path path = dir.resolve("games.bgml");
+        MoveLog log = new MoveLog();
+        log.record(7, PieceDirection.UP_RIGHT.ordinal());
+        MoveArchive archive = new MoveArchive(path);
+        CompletableFuture<Void> appended = archive.appendAsync(5, log);
+        archive.close();
+
+        assertTrue(appended.isDone());
+        assertFalse(appended.isCompletedExceptionally());
+        assertThrows(ExecutionException.class, () -> archive.appendAsync(5, log).get());
+        try (MoveArchiveReader reader = new MoveArchiveReader(path)) {
+            assertEquals(1, reader.replay(engine -> {
+            }));
+        }
+    }
+
+    @Test
+    void open_notArchive() throws IOException {
+        Path path = dir.resolve("players.db");
+        Files.write(path, new byte[]{'B', 'G', 'M', 'X', 1});
+        assertThrows(IOException.class, () -> new MoveArchiveReader(path));
+    }
+
+    private static GameEngine play(MoveArchive archive, int size, int length) throws IOException {
+        GameEngine engine = new GameEngine(GameVariant.standard(size));
+        MoveLog log = new MoveLog();
+        int[] moves = new int[BitBoard.MAX_MOVES];
+        for (int i = 0; i < length; i++) {
+            int count = engine.generateMoves(moves);
+            if (count == 0) {
+                break;
+            }
+            int move = moves[(i * 7) % count];
+            engine.move(BitBoard.movePiece(move), BitBoard.moveDirection(move));
+            log.record(BitBoard.movePiece(move), BitBoard.moveDirection(move));
+        }
+        archive.append(size, log);
+        return engine;
+    }
+}
@@ -0,0 +1,90 @@
+package boardgame.model;
+
+import org.jdbi.v3.core.Jdbi;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PersistenceServiceTest {
+
+    PersistenceService service;
+
+    @BeforeEach
+    void init() {
+        service = new PersistenceService("jdbc:h2:mem:persistence-test");
+    }
+
+    @AfterEach
+    void close() {
+        service.close();
+    }
+
+    @Test
+    void getPlayerDao() {
+        PlayerDao dao = service.getPlayerDao();
+        dao.recordGame(List.of(new Player("Alice", 12, 100), new Player("Bob", 10, 0)));
+        dao.recordGame(List.of(new Player("Carol", 9, 100), new Player("Bob", 8, 0)));
+
+        List<Player> players = dao.listPlayers();
+
+        assertEquals(List.of(new Player("Carol", 9, 100), new Player("Alice", 12, 100), new Player("Bob", 8, 0)),
+                players);
+    }
+
+    @Test
+    void recordGame_repeatPlayer() {
+        PlayerDao dao = service.getPlayerDao();
+        dao.recordGame(List.of(new Player("Alice", 12, 100), new Player("Bob", 11, 0)));
+        dao.recordGame(List.of(new Player("Alice", 15, 100), new Player("Bob", 9, 0)));
+        dao.recordGame(List.of(new Player("Alice", 10, 0), new Player("Alice", 10, 100)));
+
+        assertEquals(List.of(new Player("Alice", 10, 300), new Player("Bob", 9, 0)), dao.listPlayers());
+        assertEquals(List.of(new Player("Alice", 12, 100), new Player("Alice", 15, 100),
+                new Player("Alice", 10, 0), new Player("Alice", 10, 100)), dao.listResults("Alice"));
+    }
+
+    @Test
+    void createSchema_legacyPlayerTable() {
+        service.close();
+        String url = "jdbc:h2:mem:persistence-legacy;DB_CLOSE_DELAY=-1";
+        Jdbi.create(url).useHandle(handle -> {
+            handle.execute("CREATE TABLE playertable(name VARCHAR PRIMARY KEY, stepCount INTEGER, score INTEGER)");
+            handle.execute("INSERT INTO playertable VALUES('Alice', 12, 100)");
+        });
+        service = new PersistenceService(url);
+        service.getPlayerDao().recordGame(List.of(new Player("Alice", 14, 100)));
+
+        assertEquals(List.of(new Player("Alice", 12, 200)), service.getPlayerDao().listPlayers());
+        assertFalse(service.getPlayerDao().hasLegacyPlayerTable());
+    }
+
+    @Test
+    void listPlayersAfter() {
+        PlayerDao dao = service.getPlayerDao();
+        dao.recordGames(List.of(List.of(new Player("Alice", 12, 100), new Player("Bob", 10, 0)),
+                List.of(new Player("Carol", 9, 100), new Player("Dave", 12, 100), new Player("Eve", 7, 0))));
+
+        List<Player> first = dao.listTopPlayers(2);
+        List<Player> second = dao.listPlayersAfter(first.get(1), 2);
+        List<Player> third = dao.listPlayersAfter(second.get(1), 2);
+
+        assertEquals(List.of(new Player("Carol", 9, 100), new Player("Alice", 12, 100)), first);
+        assertEquals(List.of(new Player("Dave", 12, 100), new Player("Eve", 7, 0)), second);
+        assertEquals(List.of(new Player("Bob", 10, 0)), third);
+    }
+
+    @Test
+    void start() {
+        PersistenceService application = PersistenceService.start("jdbc:h2:mem:persistence-start");
+        try {
+            assertSame(application, PersistenceService.getInstance());
+            assertThrows(IllegalStateException.class, () -> PersistenceService.start("jdbc:h2:mem:other"));
+        } finally {
+            PersistenceService.shutdown();
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package boardgame.model;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScoreWriterTest {
+
+    PersistenceService service;
+
+    ScoreWriter writer;
+
+    @BeforeEach
+    void init() {
+        service = new PersistenceService("jdbc:h2:mem:score-writer-test");
+        writer = service.getScoreWriter();
+    }
+
+    @AfterEach
+    void close() {
+        service.close();
+    }
+
+    @Test
+    void submit() throws Exception {
+        Player alice = new Player("Alice", 12, 100);
+        CompletableFuture<List<Player>> first = writer.submit(List.of(alice, new Player("Bob", 11, 0)));
+        alice.setScore(0);
+        CompletableFuture<List<Player>> second = writer.submit(List.of(new Player("Carol", 9, 100)));
+
+        assertEquals(new Player("Alice", 12, 100), first.get(5, TimeUnit.SECONDS).get(1));
+        assertEquals(3, second.get(5, TimeUnit.SECONDS).size());
+        assertEquals(new Player("Carol", 9, 100), second.get().get(0));
+    }
+
+    @Test
+    void submit_failure() throws Exception {
+        writer.submit(List.of(new Player("Alice", 12, 100))).get(5, TimeUnit.SECONDS);
+        CompletableFuture<List<Player>> unnamed = writer.submit(List.of(new Player(null, 8, 100)));
+        CompletableFuture<List<Player>> other = writer.submit(List.of(new Player("Bob", 11, 0)));
+
+        assertThrows(ExecutionException.class, () -> unnamed.get(5, TimeUnit.SECONDS));
+        assertEquals(2, other.get(5, TimeUnit.SECONDS).size());
+    }
+
+    @Test
+    void submit_batched() throws Exception {
+        try (ScoreWriter batched = new ScoreWriter(service.getJdbi(), service.getLeaderboardCache(), 16, 4, 10_000)) {
+            CompletableFuture<List<Player>> first = batched.submit(
+                    List.of(new Player("Alice", 12, 100), new Player("Bob", 11, 0)));
+            assertTrue(batched.enqueue(List.of(new Player("Carol", 9, 100))));
+            CompletableFuture<List<Player>> last = batched.submit(List.of(new Player("Dave", 10, 0)));
+
+            assertSame(first.get(5, TimeUnit.SECONDS), last.get(5, TimeUnit.SECONDS));
+            assertEquals(4, last.get().size());
+            assertEquals(List.of(new Player("Alice", 12, 100)), service.getPlayerDao().listResults("Alice"));
+        }
+    }
+
+    @Test
+    void enqueue() throws Exception {
+        assertTrue(writer.enqueue(List.of(new Player("Alice", 12, 100))));
+        writer.close();
+
+        assertEquals(1, service.getPlayerDao().listPlayers().size());
+        assertFalse(writer.enqueue(List.of(new Player("Bob", 11, 0))));
+    }
+
+    @Test
+    void submit_closed() {
+        writer.close();
+        CompletableFuture<List<Player>> result = writer.submit(List.of(new Player("Alice", 12, 100)));
+
+        ExecutionException e = assertThrows(ExecutionException.class, result::get);
+        assertTrue(e.getCause() instanceof RejectedExecutionException);
+    }
+
+    @Test
+    void submit_racingClose() throws Exception {
+        for (int round = 0; round < 10; round++) {
+            ScoreWriter racing = new ScoreWriter(service.getJdbi(), service.getLeaderboardCache(), 1024);
+            List<CompletableFuture<List<Player>>> results = new CopyOnWriteArrayList<>();
+            Thread submitter = new Thread(() -> {
+                for (int i = 0; i < 50; i++) {
+                    results.add(racing.submit(List.of(new Player("Player" + i, i, 0))));
+                }
+            });
+            submitter.start();
+            racing.close();
+            submitter.join();
+
+            for (CompletableFuture<List<Player>> result : results) {
+                try {
+                    result.get(5, TimeUnit.SECONDS);
+                } catch (ExecutionException e) {
+                    assertTrue(e.getCause() instanceof RejectedExecutionException);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package boardgame.server;
+
+import boardgame.model.ChessColor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EventLoopTest {
+
+    ServerSocketChannel serverChannel;
+
+    EventLoop loop;
+
+    @BeforeEach
+    void init() throws IOException {
+        serverChannel = ServerSocketChannel.open().bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+        AtomicInteger created = new AtomicInteger();
+        loop = new EventLoop("event-loop-test", () -> created.getAndIncrement() == 0 ? new FailingSession()
+                : new GameSession());
+        loop.start();
+    }
+
+    @AfterEach
+    void close() throws Exception {
+        loop.close();
+        serverChannel.close();
+    }
+
+    @Test
+    void handle_failingSession() throws Exception {
+        try (SocketChannel failing = connect(); SocketChannel client = connect()) {
+            failing.write(ByteBuffer.wrap(new byte[]{Protocol.NEW_GAME, 5}));
+            assertEquals(-1, failing.read(ByteBuffer.allocate(1)));
+
+            client.write(ByteBuffer.wrap(new byte[]{Protocol.NEW_GAME, 5}));
+            ByteBuffer answer = ByteBuffer.allocate(3);
+            while (answer.hasRemaining()) {
+                assertTrue(client.read(answer) >= 0);
+            }
+            assertArrayEquals(new byte[]{Protocol.STARTED, 5, (byte) ChessColor.RED.ordinal()}, answer.array());
+            assertEquals(1, loop.getSessionCount());
+        }
+    }
+
+    private SocketChannel connect() throws IOException {
+        SocketChannel client = SocketChannel.open(serverChannel.getLocalAddress());
+        loop.add(serverChannel.accept());
+        return client;
+    }
+
+    private static class FailingSession extends GameSession {
+
+        @Override
+        public int handle(ByteBuffer requests, ByteBuffer answers) {
+            throw new IllegalStateException("session failure");
+        }
+    }
+}
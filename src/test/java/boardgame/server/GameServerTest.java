@@ -0,0 +1,183 @@
+package boardgame.server;
+
+import boardgame.metrics.MetricsRegistry;
+import boardgame.model.ChessColor;
+import boardgame.model.MoveLog;
+import boardgame.model.PieceDirection;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameServerTest {
+
+    private static final byte MOVE = MoveLog.encode(7, PieceDirection.UP_RIGHT.ordinal());
+
+    GameServer server;
+
+    @BeforeEach
+    void init() throws IOException {
+        server = new GameServer(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 2);
+    }
+
+    @AfterEach
+    void close() throws IOException {
+        server.close();
+    }
+
+    @Test
+    void loopbackClients() throws Exception {
+        List<SocketChannel> clients = new ArrayList<>();
+        try {
+            for (int i = 0; i < 1000; i++) {
+                SocketChannel client = SocketChannel.open(server.getAddress());
+                client.write(ByteBuffer.wrap(new byte[]{Protocol.NEW_GAME, 5, Protocol.MOVE, MOVE}));
+                clients.add(client);
+            }
+            for (SocketChannel client : clients) {
+                assertArrayEquals(new byte[]{Protocol.STARTED, 5, (byte) ChessColor.RED.ordinal(),
+                        Protocol.MOVED, MOVE, 0}, read(client, 6));
+            }
+            assertEquals(1000, server.getSessionCount());
+            for (SocketChannel client : clients) {
+                client.write(ByteBuffer.wrap(new byte[]{Protocol.MOVE, MOVE}));
+            }
+            for (SocketChannel client : clients) {
+                assertArrayEquals(new byte[]{Protocol.ERROR, Protocol.ILLEGAL_MOVE}, read(client, 2));
+            }
+        } finally {
+            for (SocketChannel client : clients) {
+                client.close();
+            }
+        }
+        awaitSessions(0);
+    }
+
+    @Test
+    void splitRequests() throws Exception {
+        try (SocketChannel client = SocketChannel.open(server.getAddress())) {
+            client.write(ByteBuffer.wrap(new byte[]{Protocol.NEW_GAME}));
+            Thread.sleep(50);
+            client.write(ByteBuffer.wrap(new byte[]{5, Protocol.MOVE}));
+            Thread.sleep(50);
+            client.write(ByteBuffer.wrap(new byte[]{MOVE, Protocol.UNDO}));
+
+            assertArrayEquals(new byte[]{Protocol.STARTED, 5, (byte) ChessColor.RED.ordinal(),
+                    Protocol.MOVED, MOVE, 0, Protocol.UNDONE, MOVE}, read(client, 8));
+        }
+    }
+
+    @Test
+    void pipelinedRequests() throws Exception {
+        int undos = 5000;
+        ByteBuffer requests = ByteBuffer.allocate(2 + undos);
+        requests.put(Protocol.NEW_GAME).put((byte) 5);
+        while (requests.hasRemaining()) {
+            requests.put(Protocol.UNDO);
+        }
+        try (SocketChannel client = SocketChannel.open(server.getAddress())) {
+            client.write(requests.flip());
+            byte[] answers = read(client, 3 + 2 * undos);
+            for (int i = 3; i < answers.length; i += 2) {
+                assertEquals(Protocol.ERROR, answers[i]);
+                assertEquals(Protocol.NOTHING_TO_UNDO, answers[i + 1]);
+            }
+        }
+    }
+
+    @Test
+    void slowReader() throws Exception {
+        try (SocketChannel client = SocketChannel.open()) {
+            client.setOption(StandardSocketOptions.SO_RCVBUF, 4096);
+            client.connect(server.getAddress());
+            client.write(ByteBuffer.wrap(new byte[]{Protocol.NEW_GAME, 5}));
+            assertArrayEquals(new byte[]{Protocol.STARTED, 5, (byte) ChessColor.RED.ordinal()}, read(client, 3));
+
+            client.configureBlocking(false);
+            ByteBuffer undos = ByteBuffer.allocate(4096);
+            long sent = 0;
+            long lastWrite = System.nanoTime();
+            while (System.nanoTime() - lastWrite < TimeUnit.MILLISECONDS.toNanos(200)) {
+                while (undos.hasRemaining()) {
+                    undos.put(Protocol.UNDO);
+                }
+                int written = client.write(undos.flip());
+                undos.compact();
+                if (written > 0) {
+                    sent += written;
+                    lastWrite = System.nanoTime();
+                }
+            }
+            client.configureBlocking(true);
+
+            long answers = 2 * sent;
+            assertTimeoutPreemptively(Duration.ofSeconds(10), () -> {
+                ByteBuffer buffer = ByteBuffer.allocate(4096);
+                long read = 0;
+                while (read < answers) {
+                    int count = client.read(buffer);
+                    if (count < 0) {
+                        fail("Connection closed after " + read + " of " + answers + " bytes");
+                    }
+                    read += count;
+                    buffer.flip();
+                    while (buffer.remaining() >= 2) {
+                        assertEquals(Protocol.ERROR, buffer.get());
+                        assertEquals(Protocol.NOTHING_TO_UNDO, buffer.get());
+                    }
+                    buffer.compact();
+                }
+                assertEquals(answers, read);
+            });
+        }
+    }
+
+    @Test
+    void close_removesGauge() throws IOException {
+        assertTrue(MetricsRegistry.get().snapshot().gauges().containsKey(GameServer.SESSIONS_GAUGE));
+        server.close();
+
+        assertFalse(MetricsRegistry.get().snapshot().gauges().containsKey(GameServer.SESSIONS_GAUGE));
+    }
+
+    @Test
+    void unknownRequest() throws Exception {
+        try (SocketChannel client = SocketChannel.open(server.getAddress())) {
+            client.write(ByteBuffer.wrap(new byte[]{0x7F}));
+
+            assertArrayEquals(new byte[]{Protocol.ERROR, Protocol.UNKNOWN_REQUEST}, read(client, 2));
+            assertEquals(-1, client.read(ByteBuffer.allocate(1)));
+        }
+        awaitSessions(0);
+    }
+
+    private static byte[] read(SocketChannel client, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (client.read(buffer) < 0) {
+                fail("Connection closed after " + buffer.position() + " bytes");
+            }
+        }
+        return buffer.array();
+    }
+
+    private void awaitSessions(int sessions) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (server.getSessionCount() != sessions && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(sessions, server.getSessionCount());
+    }
+}
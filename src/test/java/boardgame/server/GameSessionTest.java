@@ -0,0 +1,105 @@
+package boardgame.server;
+
+import boardgame.model.ChessColor;
+import boardgame.model.MoveLog;
+import boardgame.model.PieceDirection;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameSessionTest {
+
+    GameSession session;
+
+    ByteBuffer answers;
+
+    @BeforeEach
+    void init() {
+        session = new GameSession();
+        answers = ByteBuffer.allocate(64);
+    }
+
+    @Test
+    void handle_newGame() {
+        assertEquals(1, session.handle(ByteBuffer.wrap(new byte[]{Protocol.NEW_GAME, 5}), answers));
+        assertArrayEquals(new byte[]{Protocol.STARTED, 5, (byte) ChessColor.RED.ordinal()}, written());
+        assertEquals(14, session.getEngine().getNumberOfPieces());
+    }
+
+    @Test
+    void handle_move() {
+        byte move = MoveLog.encode(7, PieceDirection.UP_RIGHT.ordinal());
+        session.handle(ByteBuffer.wrap(new byte[]{Protocol.NEW_GAME, 5, Protocol.MOVE, move}), answers);
+
+        assertArrayEquals(new byte[]{Protocol.STARTED, 5, (byte) ChessColor.RED.ordinal(), Protocol.MOVED, move, 0},
+                written());
+        assertEquals(ChessColor.BLUE, session.getEngine().getSideToMove());
+    }
+
+    @Test
+    void handle_illegalMove() {
+        session.handle(ByteBuffer.wrap(new byte[]{Protocol.MOVE, 0}), answers);
+        session.handle(ByteBuffer.wrap(new byte[]{Protocol.NEW_GAME, 5}), answers);
+        answers.clear();
+        byte blueMove = MoveLog.encode(5, PieceDirection.DOWN_RIGHT.ordinal());
+        byte blockedMove = MoveLog.encode(7, PieceDirection.UP_LEFT.ordinal());
+        byte missingPiece = MoveLog.encode(40, PieceDirection.UP_LEFT.ordinal());
+        session.handle(ByteBuffer.wrap(new byte[]{Protocol.MOVE, blueMove, Protocol.MOVE, blockedMove,
+                Protocol.MOVE, missingPiece}), answers);
+
+        assertArrayEquals(new byte[]{Protocol.ERROR, Protocol.ILLEGAL_MOVE, Protocol.ERROR, Protocol.ILLEGAL_MOVE,
+                Protocol.ERROR, Protocol.ILLEGAL_MOVE}, written());
+    }
+
+    @Test
+    void handle_undo() {
+        byte move = MoveLog.encode(7, PieceDirection.UP_RIGHT.ordinal());
+        session.handle(ByteBuffer.wrap(new byte[]{Protocol.NEW_GAME, 5, Protocol.UNDO, Protocol.MOVE, move}), answers);
+        long hash = session.getEngine().getHash();
+        answers.clear();
+        session.handle(ByteBuffer.wrap(new byte[]{Protocol.UNDO}), answers);
+
+        assertArrayEquals(new byte[]{Protocol.UNDONE, move}, written());
+        assertEquals(ChessColor.RED, session.getEngine().getSideToMove());
+        assertNotEquals(hash, session.getEngine().getHash());
+    }
+
+    @Test
+    void handle_invalidSize() {
+        session.handle(ByteBuffer.wrap(new byte[]{Protocol.NEW_GAME, 3, Protocol.NEW_GAME, -1}), answers);
+        assertArrayEquals(new byte[]{Protocol.ERROR, Protocol.INVALID_SIZE, Protocol.ERROR, Protocol.INVALID_SIZE},
+                written());
+        assertNull(session.getEngine());
+    }
+
+    @Test
+    void handle_partialRequest() {
+        ByteBuffer requests = ByteBuffer.wrap(new byte[]{Protocol.NEW_GAME});
+        assertEquals(0, session.handle(requests, answers));
+        assertEquals(1, requests.remaining());
+        assertEquals(0, answers.position());
+    }
+
+    @Test
+    void handle_fullAnswers() {
+        ByteBuffer requests = ByteBuffer.wrap(new byte[]{Protocol.UNDO, Protocol.UNDO});
+        assertEquals(1, session.handle(requests, ByteBuffer.allocate(Protocol.MAX_RESPONSE_BYTES + 1)));
+        assertEquals(1, requests.remaining());
+    }
+
+    @Test
+    void handle_unknownRequest() {
+        session.handle(ByteBuffer.wrap(new byte[]{0x7F, Protocol.UNDO}), answers);
+        assertArrayEquals(new byte[]{Protocol.ERROR, Protocol.UNKNOWN_REQUEST}, written());
+        assertTrue(session.isClosing());
+    }
+
+    private byte[] written() {
+        byte[] bytes = new byte[answers.position()];
+        answers.flip().get(bytes);
+        return bytes;
+    }
+}
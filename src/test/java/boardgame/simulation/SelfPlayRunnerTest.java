@@ -0,0 +1,40 @@
+package boardgame.simulation;
+
+import boardgame.ai.GreedyPlayer;
+import boardgame.ai.RandomPlayer;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SelfPlayRunnerTest {
+
+    @Test
+    void run() {
+        SelfPlayRunner runner = new SelfPlayRunner(4, 200,
+                SelfPlayRunner.players("random"), SelfPlayRunner.players("greedy"));
+        SelfPlayStats stats = runner.run(500);
+
+        assertEquals(500, stats.getGames());
+        assertEquals(500, stats.getRedWins() + stats.getBlueWins() + stats.getDraws());
+        assertEquals(500, Arrays.stream(stats.getLengthHistogram()).sum());
+        assertTrue(stats.getAverageStepsPlayer1() > 0);
+        assertTrue(stats.getAverageStepsPlayer1() - stats.getAverageStepsPlayer2() <= 1);
+    }
+
+    @Test
+    void playGame() {
+        SelfPlayRunner runner = new SelfPlayRunner(1, 400, () -> new GreedyPlayer(1), () -> new RandomPlayer(2));
+        SelfPlayStats stats = new SelfPlayStats(400);
+        runner.playGame(new GreedyPlayer(1), new RandomPlayer(2), stats);
+
+        assertEquals(1, stats.getGames());
+        assertTrue(stats.getAverageStepsPlayer1() >= stats.getAverageStepsPlayer2());
+    }
+
+    @Test
+    void players_unknown() {
+        assertThrows(IllegalArgumentException.class, () -> SelfPlayRunner.players("unknown"));
+    }
+}